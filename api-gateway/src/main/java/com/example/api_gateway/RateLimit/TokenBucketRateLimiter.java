@@ -0,0 +1,114 @@
+package com.example.api_gateway.RateLimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+// In-memory token buckets for the RequestRateLimiter route filter. Limits are per route:
+//   spring.cloud.gateway.routes[n].filters[0].args.token-bucket.capacity=...
+//   spring.cloud.gateway.routes[n].filters[0].args.token-bucket.refill-per-second=...
+// State is per gateway instance; a shared store (e.g. Redis) would replace the cache below.
+@Component
+public class TokenBucketRateLimiter extends AbstractRateLimiter<TokenBucketRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "token-bucket";
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Config defaultConfig = new Config();
+
+    // Idle buckets expire; a bucket recreated later starts full, which is what it would have refilled to
+    private final Cache<String, AtomicReference<Bucket>> buckets;
+
+    public TokenBucketRateLimiter(
+            ConfigurationService configurationService,
+            @Value("${rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${rate-limit.idle-expiry:10m}") Duration idleExpiry
+    ) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleExpiry)
+                .build();
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        AtomicReference<Bucket> ref = bucket(routeId + "|" + id, config);
+        long now = System.nanoTime();
+
+        // Lock-free: retry the CAS until our view of the bucket was current
+        while (true) {
+            Bucket current = ref.get();
+            double tokens = current.tokensAt(now, config);
+            if (tokens < 1) {
+                long retryAfter = (long) Math.ceil((1 - tokens) / config.getRefillPerSecond());
+                return Mono.just(new Response(false, Map.of(
+                        "Retry-After", String.valueOf(Math.max(1, retryAfter)),
+                        "X-RateLimit-Remaining", "0")));
+            }
+            if (ref.compareAndSet(current, new Bucket(tokens - 1, now))) {
+                return Mono.just(new Response(true, Map.of(
+                        "X-RateLimit-Remaining", String.valueOf((long) (tokens - 1)))));
+            }
+        }
+    }
+
+    private AtomicReference<Bucket> bucket(String key, Config config) {
+        AtomicReference<Bucket> ref = buckets.getIfPresent(key);
+        if (ref != null) {
+            return ref;
+        }
+        // putIfAbsent instead of get(key, fn): no compute lock on the first request of a key
+        AtomicReference<Bucket> created = new AtomicReference<>(new Bucket(config.getCapacity(), System.nanoTime()));
+        AtomicReference<Bucket> raced = buckets.asMap().putIfAbsent(key, created);
+        return raced != null ? raced : created;
+    }
+
+    private static final class Bucket {
+        private final double tokens;
+        private final long updatedAt;
+
+        private Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+
+        private double tokensAt(long now, Config config) {
+            double refilled = tokens + (double) Math.max(0, now - updatedAt) / NANOS_PER_SECOND
+                    * config.getRefillPerSecond();
+            return Math.min(config.getCapacity(), refilled);
+        }
+    }
+
+    public static class Config {
+        // Burst size
+        private int capacity = 100;
+        private double refillPerSecond = 50;
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
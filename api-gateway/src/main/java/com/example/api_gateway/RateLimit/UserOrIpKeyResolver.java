@@ -0,0 +1,30 @@
+package com.example.api_gateway.RateLimit;
+
+import com.example.api_gateway.Security.JwtAuthenticationFilter;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+// Authenticated requests are limited per user, open routes (login, register, public feed) per client IP.
+// The user id comes from the exchange attribute set by JwtAuthenticationFilter, never from a
+// client-supplied X-User-Id header.
+@Component
+public class UserOrIpKeyResolver implements KeyResolver {
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        String userId = exchange.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+        if (userId != null) {
+            return Mono.just("user:" + userId);
+        }
+
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        String ip = remote == null || remote.getAddress() == null
+                ? "unknown"
+                : remote.getAddress().getHostAddress();
+        return Mono.just("ip:" + ip);
+    }
+}
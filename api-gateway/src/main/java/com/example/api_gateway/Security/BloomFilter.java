@@ -0,0 +1,75 @@
+package com.example.api_gateway.Security;
+
+import java.util.Collection;
+
+// Immutable once built: a new filter is published on every sync instead of clearing bits, so
+// readers never see a half-written array and expired ids drop out on the next rebuild.
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.bits = new long[(int) ((bitCount + 63) >>> 6)];
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+
+    // Sized for max(values, minCapacity) so a small list still has room for what arrives before the next sync
+    static BloomFilter of(Collection<String> values, int minCapacity, double falsePositiveRate) {
+        long n = Math.max(values.size(), minCapacity);
+        long m = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2)));
+        int k = (int) Math.max(1, Math.min(16, Math.round((double) m / n * LN2)));
+
+        BloomFilter filter = new BloomFilter(m, k);
+        for (String value : values) {
+            filter.add(value);
+        }
+        return filter;
+    }
+
+    boolean mightContain(String value) {
+        long h1 = mix(fnv1a(value));
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long sizeInBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+
+    // Kirsch-Mitzenmacher: k indexes from two 64-bit hashes
+    private void add(String value) {
+        long h1 = mix(fnv1a(value));
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // MurmurHash3 finalizer, spreads FNV's weak low bits
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
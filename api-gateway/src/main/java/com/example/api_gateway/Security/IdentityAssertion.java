@@ -0,0 +1,55 @@
+package com.example.api_gateway.Security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+// Signs the X-User-Id the gateway derived from a verified JWT, so services can trust the header
+// with one local HMAC. Value: "<epochSeconds>.<base64url HMAC-SHA256(userId.epochSeconds)>".
+@Component
+public class IdentityAssertion {
+
+    public static final String HEADER = "X-User-Assertion";
+    // Lets an anonymous request past the services' TrustedIdentityFilter (internal-identity module)
+    public static final String INTERNAL_CREDENTIAL_HEADER = "X-Internal-Credential";
+    private static final String INTERNAL_SUBJECT = "internal";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final Mac prototype;
+
+    public IdentityAssertion(@Value("${internal.identity.secret}") String secret) {
+        if (secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("internal.identity.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        try {
+            this.prototype = Mac.getInstance("HmacSHA256");
+            this.prototype.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public String sign(String userId) {
+        long issuedAt = System.currentTimeMillis() / 1000;
+        byte[] signature = newMac().doFinal((userId + "." + issuedAt).getBytes(StandardCharsets.UTF_8));
+        return issuedAt + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    public String internalCredential() {
+        return sign(INTERNAL_SUBJECT);
+    }
+
+    // Cloning an initialised Mac skips the provider lookup and key setup; Mac itself is not thread-safe
+    private Mac newMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
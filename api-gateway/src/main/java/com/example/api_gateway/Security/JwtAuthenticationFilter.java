@@ -14,12 +14,20 @@ import reactor.core.publisher.Mono;
 @Component
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
+    // Verified user id for later filters (rate limiting); unlike the X-User-Id header it can't be forged
+    public static final String USER_ID_ATTRIBUTE = "authenticatedUserId";
+
     private final JwtUtil jwtUtil;
     private final RouteValidator routeValidator;
+    private final TokenRevocations tokenRevocations;
+    private final IdentityAssertion identityAssertion;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, RouteValidator routeValidator) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, RouteValidator routeValidator,
+                                   TokenRevocations tokenRevocations, IdentityAssertion identityAssertion) {
         this.jwtUtil = jwtUtil;
         this.routeValidator = routeValidator;
+        this.tokenRevocations = tokenRevocations;
+        this.identityAssertion = identityAssertion;
     }
 
     @Override
@@ -27,11 +35,7 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         ServerHttpRequest request = exchange.getRequest();
 
         if (routeValidator.isOpenEndpoint(request)) {
-            return chain.filter(exchange);
-        }
-
-        if (!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
-            return onError(exchange);
+            return chain.filter(stripIdentityHeaders(exchange));
         }
 
         String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
@@ -43,12 +47,18 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
         try {
             Claims claims = jwtUtil.validateAndGetClaims(token);
+            if (tokenRevocations.isRevoked(claims.getId())) {
+                return onError(exchange);
+            }
             String userId = claims.getSubject();
+            exchange.getAttributes().put(USER_ID_ATTRIBUTE, userId);
 
             ServerHttpRequest modifiedRequest = request.mutate()
                     .header("X-User-Id", userId)
                     .header("X-User-Email", claims.get("email", String.class))
                     .header("X-User-Name", claims.get("name", String.class))
+                    .header(IdentityAssertion.HEADER, identityAssertion.sign(userId))
+                    .headers(h -> h.remove(IdentityAssertion.INTERNAL_CREDENTIAL_HEADER))
                     .build();
 
             return chain.filter(exchange.mutate().request(modifiedRequest).build());
@@ -58,6 +68,21 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         }
     }
 
+    // Open endpoints are not authenticated: identity headers sent by the client must not reach a
+    // service. The request goes on as an internal, anonymous call instead.
+    private ServerWebExchange stripIdentityHeaders(ServerWebExchange exchange) {
+        ServerHttpRequest stripped = exchange.getRequest().mutate()
+                .headers(h -> {
+                    h.remove("X-User-Id");
+                    h.remove("X-User-Email");
+                    h.remove("X-User-Name");
+                    h.remove(IdentityAssertion.HEADER);
+                    h.set(IdentityAssertion.INTERNAL_CREDENTIAL_HEADER, identityAssertion.internalCredential());
+                })
+                .build();
+        return exchange.mutate().request(stripped).build();
+    }
+
     private Mono<Void> onError(ServerWebExchange exchange) {
         exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
         return exchange.getResponse().setComplete();
@@ -0,0 +1,57 @@
+package com.example.api_gateway.Security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+// Pulls user-service's live revocations and rebuilds the filter. On failure the previous filter
+// stays in place; revocation is then only as fresh as the last sync, the 15 min token exp still applies.
+@Component
+public class RevocationSync {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationSync.class);
+
+    private final TokenRevocations tokenRevocations;
+    private final IdentityAssertion identityAssertion;
+    private final WebClient webClient;
+    private final String source;
+    private final Duration timeout;
+
+    public RevocationSync(
+            TokenRevocations tokenRevocations,
+            IdentityAssertion identityAssertion,
+            WebClient.Builder webClientBuilder,
+            ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+            @Value("${jwt.revocation.source:http://USER-SERVICE/internal/revocations}") String source,
+            @Value("${jwt.revocation.timeout:5s}") Duration timeout
+    ) {
+        this.tokenRevocations = tokenRevocations;
+        this.identityAssertion = identityAssertion;
+        this.webClient = webClientBuilder.filter(loadBalancer).build();
+        this.source = source;
+        this.timeout = timeout;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:15s}")
+    public Mono<Void> sync() {
+        return webClient.get()
+                .uri(source)
+                // user-service's TrustedIdentityFilter refuses calls without it
+                .header(IdentityAssertion.INTERNAL_CREDENTIAL_HEADER, identityAssertion.internalCredential())
+                .retrieve()
+                .bodyToMono(String[].class)
+                .timeout(timeout)
+                .doOnNext(ids -> tokenRevocations.replace(Arrays.asList(ids)))
+                .doOnError(e -> log.warn("Revocation sync failed, keeping the previous filter: {}", e.toString()))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+}
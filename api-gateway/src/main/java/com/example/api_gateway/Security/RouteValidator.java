@@ -11,7 +11,10 @@ public class RouteValidator {
 
     private static final List<String> OPEN_ENDPOINTS = List.of(
             "/auth/register",
-            "/auth/login"
+            "/auth/login",
+            // Called with an expired access token; the refresh token in the body is the credential
+            "/auth/refresh",
+            "/auth/logout"
     );
 
     public boolean isOpenEndpoint(ServerHttpRequest request) {
@@ -20,8 +23,9 @@ public class RouteValidator {
         }
         String path = request.getURI().getPath();
 
-        // GET /events (exact) is public feed — no auth needed
-        if (request.getMethod() == HttpMethod.GET && path.equals("/events")) {
+        // GET /events (exact) is public feed — no auth needed; the ?ids= batch lookup is not
+        if (request.getMethod() == HttpMethod.GET && path.equals("/events")
+                && !request.getQueryParams().containsKey("ids")) {
             return true;
         }
 
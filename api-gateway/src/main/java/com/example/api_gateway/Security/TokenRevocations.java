@@ -0,0 +1,57 @@
+package com.example.api_gateway.Security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+// Revoked access token ids (jti) as a Bloom filter: a constant-time, allocation-free check per
+// request. A false positive costs the client one extra /auth/refresh, which issues a new jti.
+@Component
+public class TokenRevocations {
+
+    private static final int MIN_CAPACITY = 1024;
+
+    private final double falsePositiveRate;
+    private final Counter rejected;
+
+    private volatile BloomFilter filter;
+    private volatile int entries;
+
+    public TokenRevocations(
+            @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+            MeterRegistry meterRegistry
+    ) {
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.of(List.of(), MIN_CAPACITY, falsePositiveRate);
+
+        this.rejected = Counter.builder("jwt.revocations.rejected")
+                .description("Requests refused because their token id is in the revocation filter")
+                .register(meterRegistry);
+        Gauge.builder("jwt.revocations.entries", () -> entries)
+                .description("Revoked token ids in the current filter")
+                .register(meterRegistry);
+        Gauge.builder("jwt.revocations.memory", () -> filter.sizeInBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        // Tokens issued before ids existed carry no jti; they simply run out at their exp
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        rejected.increment();
+        return true;
+    }
+
+    // Full replacement with the currently live revocations (see RevocationSync)
+    public void replace(Collection<String> tokenIds) {
+        filter = BloomFilter.of(tokenIds, MIN_CAPACITY, falsePositiveRate);
+        entries = tokenIds.size();
+    }
+}
@@ -5,6 +5,10 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 @FeignClient(name = "event-service")
 public interface EventClient {
@@ -12,12 +16,24 @@ public interface EventClient {
     @GetMapping("/events/{id}")
     EventResponse getById(@PathVariable Long id);
 
+    // Unknown ids are left out of the result
+    @GetMapping("/events")
+    List<EventResponse> getByIds(@RequestParam("ids") List<Long> ids);
+
     @PutMapping("/events/{id}/lock")
     EventResponse lock(@PathVariable Long id);
 
     @PutMapping("/events/{id}/book")
     EventResponse book(@PathVariable Long id);
 
+    @PutMapping("/events/{id}/reserve")
+    EventResponse reserve(@PathVariable Long id,
+                          @RequestParam Long bookedBy,
+                          @RequestHeader("Idempotency-Key") String idempotencyKey);
+
+    @PutMapping("/events/{id}/release")
+    void release(@PathVariable Long id, @RequestHeader("Idempotency-Key") String idempotencyKey);
+
     @PutMapping("/events/{id}/unlock")
     void unlock(@PathVariable Long id);
 }
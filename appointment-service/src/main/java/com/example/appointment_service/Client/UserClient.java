@@ -1,12 +1,14 @@
 package com.example.appointment_service.Client;
 
 import com.example.appointment_service.Dto.UserResponse;
+import com.example.internal_identity.TombstoneSource;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
+// getTombstones comes from TombstoneSource and feeds the shared UserTombstones mirror
 @FeignClient(name = "user-service")
-public interface UserClient {
+public interface UserClient extends TombstoneSource {
 
     @GetMapping("/users/{id}")
     UserResponse getById(@PathVariable Long id);
@@ -4,9 +4,11 @@ import com.example.appointment_service.Dto.AppointmentCreate;
 import com.example.appointment_service.Dto.AppointmentResponse;
 import com.example.appointment_service.Service.AppointmentService;
 import jakarta.validation.Valid;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -19,17 +21,32 @@ public class AppointmentController {
         this.service = service;
     }
 
+    // 202: booking continues in the background, poll the Location until status leaves PENDING
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public AppointmentResponse create(
+    public ResponseEntity<AppointmentResponse> create(
             @RequestHeader("X-User-Id") Long userId,
             @RequestBody @Valid AppointmentCreate request) {
-        return service.create(userId, request);
+        AppointmentResponse response = service.create(userId, request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/appointments/" + response.getId()))
+                .body(response);
     }
 
     @GetMapping("/my")
-    public List<AppointmentResponse> getMyAppointments(@RequestHeader("X-User-Id") Long userId) {
-        return service.getAppointments(userId);
+    public List<AppointmentResponse> getMyAppointments(@RequestHeader("X-User-Id") Long userId,
+                                                       @RequestParam(defaultValue = "false") boolean withEvents,
+                                                       WebRequest request) {
+        if (request.checkNotModified(service.appointmentsEtag(userId, withEvents))) {
+            return null;
+        }
+        return service.getAppointments(userId, withEvents);
+    }
+
+    @GetMapping("/{id}")
+    public AppointmentResponse getAppointment(
+            @RequestHeader("X-User-Id") Long userId,
+            @PathVariable Long id) {
+        return service.getAppointment(id, userId);
     }
 
     @DeleteMapping("/{id}")
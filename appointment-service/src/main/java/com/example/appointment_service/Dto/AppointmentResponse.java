@@ -10,6 +10,12 @@ public class AppointmentResponse {
     private Long eventId;
     private Appointment.AppointmentStatus status;
     private LocalDateTime createdAt;
+    private String failureReason;
+
+    // Filled only when the listing is requested with withEvents=true
+    private LocalDateTime eventStartTime;
+    private LocalDateTime eventEndTime;
+    private Long eventOwnerId;
 
     public Long getId() {
         return id;
@@ -50,4 +56,36 @@ public class AppointmentResponse {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+
+    public LocalDateTime getEventStartTime() {
+        return eventStartTime;
+    }
+
+    public void setEventStartTime(LocalDateTime eventStartTime) {
+        this.eventStartTime = eventStartTime;
+    }
+
+    public LocalDateTime getEventEndTime() {
+        return eventEndTime;
+    }
+
+    public void setEventEndTime(LocalDateTime eventEndTime) {
+        this.eventEndTime = eventEndTime;
+    }
+
+    public Long getEventOwnerId() {
+        return eventOwnerId;
+    }
+
+    public void setEventOwnerId(Long eventOwnerId) {
+        this.eventOwnerId = eventOwnerId;
+    }
 }
@@ -6,8 +6,10 @@ import java.time.LocalDateTime;
 @Entity
 public class Appointment {
 
+    // allocationSize matches the V1 migration's sequence increment
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+    @SequenceGenerator(name = "appointment_seq", sequenceName = "appointment_seq", allocationSize = 50)
     private Long id;
 
     private Long eventId;
@@ -15,9 +17,24 @@ public class Appointment {
 
     private LocalDateTime createdAt;
 
+    // Change marker for list ETags (see AppointmentStamp)
+    private LocalDateTime updatedAt;
+
     @Enumerated(EnumType.STRING)
     private AppointmentStatus status;
 
+    // Idempotency-Key sent to event-service for this booking's reserve/release calls
+    @Column(length = 64)
+    private String reservationKey;
+
+    private String failureReason;
+
+    @PrePersist
+    @PreUpdate
+    public void onWrite() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
     public enum AppointmentStatus {
         PENDING,
         BOOKED,
@@ -64,4 +81,24 @@ public class Appointment {
     public AppointmentStatus getStatus() {
         return status;
     }
+
+    public String getReservationKey() {
+        return reservationKey;
+    }
+
+    public void setReservationKey(String reservationKey) {
+        this.reservationKey = reservationKey;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
 }
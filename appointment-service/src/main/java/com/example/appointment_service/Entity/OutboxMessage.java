@@ -0,0 +1,112 @@
+package com.example.appointment_service.Entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Written in the same transaction as the appointment; OutboxRelay delivers it to event-service
+@Entity
+@Table(name = "appointment_outbox")
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_outbox_seq")
+    @SequenceGenerator(name = "appointment_outbox_seq", sequenceName = "appointment_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    private Long appointmentId;
+
+    @Enumerated(EnumType.STRING)
+    private Type type;
+
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.PENDING;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime createdAt;
+
+    private String lastError;
+
+    public enum Type {
+        RESERVE,
+        RELEASE
+    }
+
+    public enum Status {
+        PENDING,
+        DONE,
+        DEAD
+    }
+
+    public static OutboxMessage pending(Long appointmentId, Type type) {
+        OutboxMessage message = new OutboxMessage();
+        message.setAppointmentId(appointmentId);
+        message.setType(type);
+        message.setCreatedAt(LocalDateTime.now());
+        message.setNextAttemptAt(message.getCreatedAt());
+        return message;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.appointment_service.Exception;
+
+public class UserNotFoundException extends RuntimeException {
+    public UserNotFoundException(Long id) {
+        super("User not found with id " + id);
+    }
+}
@@ -1,13 +1,26 @@
 package com.example.appointment_service.Repository;
 
 import com.example.appointment_service.Entity.Appointment;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface AppointmentRepo extends JpaRepository<Appointment, Long> {
 
     List<Appointment> findByBookedBy(Long bookedBy);
 
+    @Query("SELECT COUNT(a) AS count, MAX(a.id) AS maxId, MAX(a.updatedAt) AS lastUpdated " +
+           "FROM Appointment a WHERE a.bookedBy = :bookedBy")
+    AppointmentStamp stampByBookedBy(@Param("bookedBy") Long bookedBy);
+
+    // Serializes cancel with the relay recording an outcome; never held across a remote call
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Appointment> findWithLockById(Long id);
+
 }
@@ -0,0 +1,14 @@
+package com.example.appointment_service.Repository;
+
+import java.time.LocalDateTime;
+
+// Cheap change marker for a user's appointments: inserts/deletes move count and max id,
+// status changes move the updated-at maximum
+public interface AppointmentStamp {
+
+    Long getCount();
+
+    Long getMaxId();
+
+    LocalDateTime getLastUpdated();
+}
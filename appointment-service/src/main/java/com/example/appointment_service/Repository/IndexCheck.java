@@ -0,0 +1,50 @@
+package com.example.appointment_service.Repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Refuses to start when an index the repository queries rely on is missing or invalid
+// (dropped by hand, or a failed build), instead of silently serving them with sequential scans
+@Component
+@ConditionalOnProperty(name = "schema.index-check.enabled", havingValue = "true", matchIfMissing = true)
+public class IndexCheck implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexCheck.class);
+
+    // Created by db/migration; keep in sync when adding a migration with an index
+    static final List<String> REQUIRED_INDEXES = List.of(
+            "idx_appointment_booked_by",
+            "idx_outbox_pending"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IndexCheck(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> present = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_index i " +
+                "JOIN pg_class c ON c.oid = i.indexrelid " +
+                "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                "WHERE n.nspname = current_schema() AND i.indisvalid",
+                String.class);
+
+        List<String> missing = REQUIRED_INDEXES.stream()
+                .filter(name -> !present.contains(name))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing or invalid database indexes: " + missing);
+        }
+        log.info("All {} required indexes present", REQUIRED_INDEXES.size());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.appointment_service.Repository;
+
+import com.example.appointment_service.Entity.OutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxRepo extends JpaRepository<OutboxMessage, Long> {
+
+    // FOR UPDATE SKIP LOCKED (lock timeout -2): several relay instances never pick the same row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<OutboxMessage> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            OutboxMessage.Status status,
+            LocalDateTime now,
+            Pageable pageable
+    );
+}
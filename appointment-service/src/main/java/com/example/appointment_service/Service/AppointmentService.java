@@ -1,99 +1,100 @@
 package com.example.appointment_service.Service;
 
 import com.example.appointment_service.Client.EventClient;
-import com.example.appointment_service.Client.UserClient;
 import com.example.appointment_service.Dto.AppointmentCreate;
 import com.example.appointment_service.Dto.AppointmentResponse;
 import com.example.appointment_service.Dto.EventResponse;
 import com.example.appointment_service.Entity.Appointment;
+import com.example.appointment_service.Entity.OutboxMessage;
 import com.example.appointment_service.Exception.*;
 import com.example.appointment_service.Repository.AppointmentRepo;
+import com.example.appointment_service.Repository.AppointmentStamp;
+import com.example.appointment_service.Repository.OutboxRepo;
 import feign.FeignException;
 import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class AppointmentService {
 
+    private static final Logger log = LoggerFactory.getLogger(AppointmentService.class);
+
+    // Matches event-service's MAX_BATCH_IDS
+    static final int EVENT_BATCH_SIZE = 200;
+
     private final AppointmentRepo repo;
+    private final OutboxRepo outboxRepo;
     private final EventClient eventClient;
-    private final UserClient userClient;
 
     public AppointmentService(
             AppointmentRepo repo,
-            EventClient eventClient,
-            UserClient userClient
+            OutboxRepo outboxRepo,
+            EventClient eventClient
     ) {
         this.repo = repo;
+        this.outboxRepo = outboxRepo;
         this.eventClient = eventClient;
-        this.userClient = userClient;
     }
 
+    // Only local writes here; OutboxRelay reserves the slot in event-service afterwards.
+    // bookedBy comes from the gateway-signed header (TrustedIdentityFilter), so no existence lookup.
     @Transactional
     public AppointmentResponse create(Long bookedBy, AppointmentCreate request) {
-        userClient.getById(bookedBy);
-
-        EventResponse event = eventClient.getById(request.getEventId());
-
-        if (event.getUserId().equals(bookedBy)) {
-            throw new SelfBookingException();
-        }
-
-        try {
-            eventClient.lock(event.getId());
-        } catch (FeignException.NotFound e) {
-            throw new EventNotFoundException(event.getId());
-        } catch (FeignException.Conflict e) {
-            throw new EventAlreadyBookedException(event.getId());
-        } catch (Exception e) {
-            throw new EventLockException("Event Lock Failed!");
-        }
-
         Appointment appointment = new Appointment();
         appointment.setEventId(request.getEventId());
         appointment.setBookedBy(bookedBy);
         appointment.setCreatedAt(LocalDateTime.now());
         appointment.setStatus(Appointment.AppointmentStatus.PENDING);
-        Appointment saved = repo.save(appointment);
+        appointment.setReservationKey(UUID.randomUUID().toString());
 
-        AppointmentResponse response = new AppointmentResponse();
-        response.setId(saved.getId());
-        response.setEventId(saved.getEventId());
-        response.setBookedBy(saved.getBookedBy());
-        response.setCreatedAt(saved.getCreatedAt());
-
-        try {
-            eventClient.book(event.getId());
+        Appointment saved = repo.save(appointment);
+        outboxRepo.save(OutboxMessage.pending(saved.getId(), OutboxMessage.Type.RESERVE));
 
-            saved.setStatus(Appointment.AppointmentStatus.BOOKED);
-            repo.save(saved);
-            response.setStatus(saved.getStatus());
-            return response;
-        } catch (Exception e) {
-            eventClient.unlock(request.getEventId());
+        return mapToResponse(saved);
+    }
 
-            saved.setStatus(Appointment.AppointmentStatus.FAILED);
-            repo.save(saved);
-            response.setStatus(saved.getStatus());
+    public AppointmentResponse getAppointment(Long appointmentId, Long userId) {
+        Appointment appointment = repo.findById(appointmentId)
+                .orElseThrow(() -> new AppointmentNotFoundException(appointmentId));
 
-            throw e;
+        if (!appointment.getBookedBy().equals(userId)) {
+            throw new AppointmentForbiddenException("You are not allowed to view this appointment");
         }
+
+        return mapToResponse(appointment);
     }
 
-    public List<AppointmentResponse> getAppointments(Long bookedBy) {
-        userClient.getById(bookedBy);
+    // Weak: the gateway may re-encode (compress) the body
+    // Event times and owners never change once created, so the appointment stamp covers both variants
+    public String appointmentsEtag(Long bookedBy, boolean withEvents) {
+        AppointmentStamp stamp = repo.stampByBookedBy(bookedBy);
+        return "W/\"" + stamp.getCount() + "-" + stamp.getMaxId() + "-" + stamp.getLastUpdated()
+                + "-appointments-" + bookedBy + (withEvents ? "-events" : "") + "\"";
+    }
 
-        return repo.findByBookedBy(bookedBy).stream()
+    public List<AppointmentResponse> getAppointments(Long bookedBy, boolean withEvents) {
+        List<AppointmentResponse> appointments = repo.findByBookedBy(bookedBy).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
+        if (withEvents) {
+            attachEvents(appointments);
+        }
+        return appointments;
     }
 
+    @Transactional
     public AppointmentResponse cancel(Long appointmentId, Long userId) {
-        Appointment appointment = repo.findById(appointmentId)
+        // Serialized with the relay recording a reserve outcome (see OutboxRelay.reserved)
+        Appointment appointment = repo.findWithLockById(appointmentId)
                 .orElseThrow(() -> new AppointmentNotFoundException(appointmentId));
 
         if (!appointment.getBookedBy().equals(userId)) {
@@ -104,15 +105,46 @@ public class AppointmentService {
             throw new AppointmentException("Appointment already cancelled");
         }
 
-        eventClient.unlock(appointment.getEventId());
-
         appointment.setStatus(Appointment.AppointmentStatus.CANCELLED);
 
         Appointment saved = repo.save(appointment);
+        // Rezervasyon hic yapilmadiysa release event-service tarafinda no-op
+        outboxRepo.save(OutboxMessage.pending(saved.getId(), OutboxMessage.Type.RELEASE));
 
         return mapToResponse(saved);
     }
 
+    // One GET /events?ids= per EVENT_BATCH_SIZE appointments instead of one call per row. If
+    // event-service is down the plain listing is still returned, just without event details.
+    private void attachEvents(List<AppointmentResponse> appointments) {
+        List<Long> eventIds = appointments.stream()
+                .map(AppointmentResponse::getEventId)
+                .distinct()
+                .toList();
+
+        Map<Long, EventResponse> events = new HashMap<>();
+        try {
+            for (int from = 0; from < eventIds.size(); from += EVENT_BATCH_SIZE) {
+                List<Long> batch = eventIds.subList(from, Math.min(from + EVENT_BATCH_SIZE, eventIds.size()));
+                for (EventResponse event : eventClient.getByIds(batch)) {
+                    events.put(event.getId(), event);
+                }
+            }
+        } catch (FeignException e) {
+            log.warn("Could not load events for the appointment listing: {}", e.getMessage());
+            return;
+        }
+
+        for (AppointmentResponse appointment : appointments) {
+            EventResponse event = events.get(appointment.getEventId());
+            if (event != null) {
+                appointment.setEventStartTime(event.getStartTime());
+                appointment.setEventEndTime(event.getEndTime());
+                appointment.setEventOwnerId(event.getUserId());
+            }
+        }
+    }
+
     private AppointmentResponse mapToResponse(Appointment appointment) {
         AppointmentResponse appointmentResponse = new AppointmentResponse();
         appointmentResponse.setId(appointment.getId());
@@ -120,6 +152,7 @@ public class AppointmentService {
         appointmentResponse.setBookedBy(appointment.getBookedBy());
         appointmentResponse.setCreatedAt(appointment.getCreatedAt());
         appointmentResponse.setStatus(appointment.getStatus());
+        appointmentResponse.setFailureReason(appointment.getFailureReason());
 
         return appointmentResponse;
     }
@@ -0,0 +1,235 @@
+package com.example.appointment_service.Service;
+
+import com.example.appointment_service.Client.EventClient;
+import com.example.appointment_service.Entity.Appointment;
+import com.example.appointment_service.Entity.OutboxMessage;
+import com.example.appointment_service.Repository.AppointmentRepo;
+import com.example.appointment_service.Repository.OutboxRepo;
+import feign.FeignException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Booking saga: delivers outbox rows to event-service. Messages are claimed in one short
+// transaction, the remote call runs with no transaction open, and each outcome is recorded in
+// its own short transaction. Every call carries the appointment's reservation key, so a
+// message delivered twice (lease expired mid-call) cannot double-book.
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final OutboxRepo outboxRepo;
+    private final AppointmentRepo appointmentRepo;
+    private final EventClient eventClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+
+    public OutboxRelay(
+            OutboxRepo outboxRepo,
+            AppointmentRepo appointmentRepo,
+            EventClient eventClient,
+            PlatformTransactionManager transactionManager,
+            @Value("${outbox.relay.batch-size:50}") int batchSize,
+            @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+            @Value("${outbox.relay.lease:2m}") Duration lease
+    ) {
+        this.outboxRepo = outboxRepo;
+        this.appointmentRepo = appointmentRepo;
+        this.eventClient = eventClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:500ms}")
+    public void relay() {
+        List<Delivery> claimed;
+        do {
+            claimed = transactionTemplate.execute(status -> claim(LocalDateTime.now()));
+            for (Delivery delivery : claimed) {
+                deliver(delivery);
+            }
+        } while (claimed.size() == batchSize);
+    }
+
+    // SKIP LOCKED keeps other relays off these rows while we claim them; pushing nextAttemptAt
+    // out by the lease keeps them off afterwards. A relay that dies mid-batch just lets the
+    // lease run out and the messages become due again.
+    private List<Delivery> claim(LocalDateTime now) {
+        List<OutboxMessage> due = outboxRepo.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                OutboxMessage.Status.PENDING, now, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Appointment> appointments = appointmentRepo
+                .findAllById(due.stream().map(OutboxMessage::getAppointmentId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Appointment::getId, Function.identity()));
+
+        // Column is TIMESTAMP(6): truncate so the value read back compares equal
+        LocalDateTime leasedUntil = now.plus(lease).truncatedTo(ChronoUnit.MICROS);
+        List<Delivery> claimed = new ArrayList<>(due.size());
+        for (OutboxMessage message : due) {
+            message.setNextAttemptAt(leasedUntil);
+            claimed.add(new Delivery(message, appointments.get(message.getAppointmentId()), leasedUntil));
+        }
+        return claimed;
+    }
+
+    // No transaction is open here: nothing is locked while event-service is being called
+    private void deliver(Delivery delivery) {
+        if (delivery.eventId == null) {
+            record(delivery, (message, appointment) -> message.setStatus(OutboxMessage.Status.DONE));
+            return;
+        }
+
+        try {
+            if (delivery.type == OutboxMessage.Type.RESERVE) {
+                // Cancelled before the relay got to it; the cancel's RELEASE has nothing to undo
+                if (delivery.appointmentStatus != Appointment.AppointmentStatus.PENDING) {
+                    record(delivery, (message, appointment) -> message.setStatus(OutboxMessage.Status.DONE));
+                    return;
+                }
+                eventClient.reserve(delivery.eventId, delivery.bookedBy, delivery.reservationKey);
+                record(delivery, this::reserved);
+            } else {
+                eventClient.release(delivery.eventId, delivery.reservationKey);
+                record(delivery, (message, appointment) -> message.setStatus(OutboxMessage.Status.DONE));
+            }
+        } catch (FeignException.NotFound e) {
+            record(delivery, (message, appointment) -> reject(message, appointment, "Event not found"));
+        } catch (FeignException.Forbidden e) {
+            record(delivery, (message, appointment) -> reject(message, appointment, "You cannot book your own event"));
+        } catch (FeignException.Conflict e) {
+            record(delivery, (message, appointment) -> reject(message, appointment, "Event is already booked"));
+        } catch (Exception e) {
+            record(delivery, (message, appointment) -> retryLater(message, appointment, e, LocalDateTime.now()));
+        }
+    }
+
+    // Short transaction per message; the appointment row lock is only held for these local writes
+    private void record(Delivery delivery, BiConsumer<OutboxMessage, Appointment> outcome) {
+        transactionTemplate.executeWithoutResult(status -> {
+            OutboxMessage message = outboxRepo.findById(delivery.messageId).orElse(null);
+            // The lease ran out during the call and another relay has taken the message over
+            if (message == null
+                    || message.getStatus() != OutboxMessage.Status.PENDING
+                    || !delivery.leasedUntil.equals(message.getNextAttemptAt())) {
+                return;
+            }
+            Appointment appointment = appointmentRepo.findWithLockById(message.getAppointmentId()).orElse(null);
+            outcome.accept(message, appointment);
+        });
+    }
+
+    private void reserved(OutboxMessage message, Appointment appointment) {
+        message.setStatus(OutboxMessage.Status.DONE);
+        if (appointment == null) {
+            return;
+        }
+        if (appointment.getStatus() == Appointment.AppointmentStatus.PENDING) {
+            appointment.setStatus(Appointment.AppointmentStatus.BOOKED);
+        } else {
+            // Cancelled while the reserve was in flight: its RELEASE may already have run as a
+            // no-op, so undo the reservation once more under the same key
+            outboxRepo.save(OutboxMessage.pending(appointment.getId(), OutboxMessage.Type.RELEASE));
+        }
+    }
+
+    // event-service said no; retrying would get the same answer
+    private void reject(OutboxMessage message, Appointment appointment, String reason) {
+        message.setStatus(OutboxMessage.Status.DONE);
+        message.setLastError(reason);
+        if (message.getType() == OutboxMessage.Type.RESERVE && appointment != null) {
+            fail(appointment, reason);
+        }
+    }
+
+    private void retryLater(OutboxMessage message, Appointment appointment, Exception e, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(truncate(e.getMessage()));
+
+        if (attempts < maxAttempts) {
+            message.setNextAttemptAt(now.plus(backoff(attempts)));
+            return;
+        }
+
+        message.setStatus(OutboxMessage.Status.DEAD);
+        log.error("Outbox message {} ({} for appointment {}) gave up after {} attempts",
+                message.getId(), message.getType(), message.getAppointmentId(), attempts, e);
+
+        if (message.getType() == OutboxMessage.Type.RESERVE && appointment != null
+                && appointment.getStatus() == Appointment.AppointmentStatus.PENDING) {
+            fail(appointment, "Event service unavailable");
+            // The reserve may have landed before a timeout; undo it under the same key
+            outboxRepo.save(OutboxMessage.pending(appointment.getId(), OutboxMessage.Type.RELEASE));
+        }
+    }
+
+    private void fail(Appointment appointment, String reason) {
+        if (appointment.getStatus() == Appointment.AppointmentStatus.PENDING) {
+            appointment.setStatus(Appointment.AppointmentStatus.FAILED);
+            appointment.setFailureReason(reason);
+        }
+    }
+
+    private static Duration backoff(int attempts) {
+        Duration delay = Duration.ofSeconds(1L << Math.min(attempts - 1, 6));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    // What the remote call needs, copied out of the claim transaction
+    private static final class Delivery {
+
+        private final Long messageId;
+        private final OutboxMessage.Type type;
+        private final LocalDateTime leasedUntil;
+        private final Long eventId;
+        private final Long bookedBy;
+        private final String reservationKey;
+        private final Appointment.AppointmentStatus appointmentStatus;
+
+        private Delivery(OutboxMessage message, Appointment appointment, LocalDateTime leasedUntil) {
+            this.messageId = message.getId();
+            this.type = message.getType();
+            this.leasedUntil = leasedUntil;
+            this.eventId = appointment != null ? appointment.getEventId() : null;
+            this.bookedBy = appointment != null ? appointment.getBookedBy() : null;
+            this.reservationKey = appointment != null ? appointment.getReservationKey() : null;
+            this.appointmentStatus = appointment != null ? appointment.getStatus() : null;
+        }
+    }
+}
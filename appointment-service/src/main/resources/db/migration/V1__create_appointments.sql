@@ -0,0 +1,41 @@
+-- Schema as previously generated by ddl-auto=update; no-ops on existing databases
+CREATE TABLE IF NOT EXISTS appointment (
+    id              BIGINT PRIMARY KEY,
+    event_id        BIGINT,
+    booked_by       BIGINT,
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    status          VARCHAR(255),
+    reservation_key VARCHAR(64),
+    failure_reason  VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS appointment_outbox (
+    id              BIGINT PRIMARY KEY,
+    appointment_id  BIGINT,
+    type            VARCHAR(255),
+    status          VARCHAR(255),
+    attempts        INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6),
+    created_at      TIMESTAMP(6),
+    last_error      VARCHAR(255)
+);
+
+-- Databases created by ddl-auto before these columns existed
+ALTER TABLE appointment ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+ALTER TABLE appointment ADD COLUMN IF NOT EXISTS reservation_key VARCHAR(64);
+ALTER TABLE appointment ADD COLUMN IF NOT EXISTS failure_reason VARCHAR(255);
+
+-- Ids come from named sequences (allocationSize 50). appointment_seq is the name Hibernate 6
+-- already gave Appointment's implicit sequence, so on existing databases only the setval runs.
+-- The outbox used outbox_message_seq (named after the entity), so appointment_outbox_seq is new
+-- there. Either way start past every id already handed out.
+CREATE SEQUENCE IF NOT EXISTS appointment_seq INCREMENT BY 50;
+SELECT setval('appointment_seq', GREATEST(
+        (SELECT last_value FROM appointment_seq) + 50,
+        COALESCE((SELECT MAX(id) FROM appointment), 0) + 51), false);
+
+CREATE SEQUENCE IF NOT EXISTS appointment_outbox_seq INCREMENT BY 50;
+SELECT setval('appointment_outbox_seq', GREATEST(
+        (SELECT last_value FROM appointment_outbox_seq) + 50,
+        COALESCE((SELECT MAX(id) FROM appointment_outbox), 0) + 51), false);
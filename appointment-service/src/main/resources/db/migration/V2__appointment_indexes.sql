@@ -0,0 +1,7 @@
+-- AppointmentRepo.findByBookedBy and stampByBookedBy; INCLUDE makes the ETag stamp index-only
+CREATE INDEX IF NOT EXISTS idx_appointment_booked_by ON appointment (booked_by, id) INCLUDE (updated_at);
+
+-- OutboxRelay poll: PENDING rows in id order. Only undelivered rows are indexed, so the index
+-- stays tiny while the DONE history grows.
+CREATE INDEX IF NOT EXISTS idx_outbox_pending ON appointment_outbox (id) INCLUDE (next_attempt_at)
+    WHERE status = 'PENDING';
@@ -0,0 +1,124 @@
+package com.example.benchmarks;
+
+import com.example.appointment_service.AppointmentServiceApplication;
+import com.example.appointment_service.Client.EventClient;
+import com.example.appointment_service.Client.UserClient;
+import com.example.appointment_service.Dto.AppointmentCreate;
+import com.example.appointment_service.Dto.EventResponse;
+import com.example.appointment_service.Dto.UserResponse;
+import com.example.appointment_service.Service.AppointmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AppointmentServiceBenchmarks {
+
+    private static final long HOST_ID = 1L;
+    private static final long BOOKER_ID = 2L;
+
+    private static final AtomicLong NEXT_EVENT_ID = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private AppointmentService appointmentService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("appointment-service",
+                AppointmentServiceApplication.class, StubClients.class);
+        appointmentService = context.getBean(AppointmentService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object create() {
+        AppointmentCreate request = new AppointmentCreate();
+        request.setEventId(NEXT_EVENT_ID.incrementAndGet());
+        return appointmentService.create(BOOKER_ID, request);
+    }
+
+    // Replaces the Feign proxies so only appointment-service's own work is measured
+    @Configuration
+    static class StubClients {
+
+        private static final ObjectMapper MAPPER = new ObjectMapper();
+
+        @Bean
+        @Primary
+        UserClient stubUserClient() {
+            return new UserClient() {
+                @Override
+                public UserResponse getById(Long id) {
+                    return new UserResponse();
+                }
+
+                @Override
+                public long[] getTombstones() {
+                    return new long[0];
+                }
+            };
+        }
+
+        @Bean
+        @Primary
+        EventClient stubEventClient() {
+            return new EventClient() {
+                @Override
+                public EventResponse getById(Long id) {
+                    return event(id, true);
+                }
+
+                @Override
+                public List<EventResponse> getByIds(List<Long> ids) {
+                    return ids.stream().map(id -> event(id, false)).toList();
+                }
+
+                @Override
+                public EventResponse lock(Long id) {
+                    return event(id, true);
+                }
+
+                @Override
+                public EventResponse book(Long id) {
+                    return event(id, false);
+                }
+
+                @Override
+                public EventResponse reserve(Long id, Long bookedBy, String idempotencyKey) {
+                    return event(id, false);
+                }
+
+                @Override
+                public void release(Long id, String idempotencyKey) {
+                }
+
+                @Override
+                public void unlock(Long id) {
+                }
+            };
+        }
+
+        private static EventResponse event(Long id, boolean available) {
+            return MAPPER.convertValue(
+                    Map.of("id", id, "userId", HOST_ID, "available", available),
+                    EventResponse.class);
+        }
+    }
+}
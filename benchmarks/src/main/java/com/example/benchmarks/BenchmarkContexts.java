@@ -0,0 +1,18 @@
+package com.example.benchmarks;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Boots one service's Spring context against H2 with the matching bench-*.properties
+final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    static ConfigurableApplicationContext start(String service, Class<?>... sources) {
+        return new SpringApplicationBuilder(sources)
+                .properties("spring.config.location=classpath:/bench-" + service + ".properties")
+                .logStartupInfo(false)
+                .run();
+    }
+}
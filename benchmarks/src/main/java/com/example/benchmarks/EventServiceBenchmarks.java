@@ -0,0 +1,79 @@
+package com.example.benchmarks;
+
+import com.example.event_service.Dto.EventResponse;
+import com.example.event_service.Entity.Event;
+import com.example.event_service.EventServiceApplication;
+import com.example.event_service.Repository.EventRepo;
+import com.example.event_service.Service.EventService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventServiceBenchmarks {
+
+    private static final long HOST_ID = 1L;
+
+    @Param({"100", "5000"})
+    public int eventCount;
+
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private MethodHandle mapToResponse;
+    private Event sample;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkContexts.start("event-service", EventServiceApplication.class);
+        eventService = context.getBean(EventService.class);
+
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        List<Event> events = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            Event event = new Event();
+            event.setUserId(HOST_ID);
+            event.setStartTime(base.plusMinutes(30L * i));
+            event.setEndTime(base.plusMinutes(30L * i + 30));
+            event.setDescription("slot " + i);
+            events.add(event);
+        }
+        sample = context.getBean(EventRepo.class).saveAll(events).get(0);
+
+        // mapToResponse is private; benchmark it directly rather than widening its visibility
+        mapToResponse = MethodHandles.privateLookupIn(EventService.class, MethodHandles.lookup())
+                .findVirtual(EventService.class, "mapToResponse",
+                        MethodType.methodType(EventResponse.class, Event.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object mapToResponse() throws Throwable {
+        return (EventResponse) mapToResponse.invokeExact(eventService, sample);
+    }
+
+    @Benchmark
+    public Object getMyEvents() {
+        return eventService.getEventsByUser(HOST_ID);
+    }
+
+    @Benchmark
+    public Object getPublicEventsFirstPage() {
+        return eventService.getPublicEvents(null, null);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.benchmarks;
+
+import com.example.user_service.Entity.Friendship;
+import com.example.user_service.Entity.FriendshipStatus;
+import com.example.user_service.Entity.User;
+import com.example.user_service.Repository.FriendshipRepo;
+import com.example.user_service.Repository.UserRepo;
+import com.example.user_service.Service.FriendshipService;
+import com.example.user_service.UserServiceApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FriendshipServiceBenchmarks {
+
+    @Param({"10", "300"})
+    public int friendCount;
+
+    private ConfigurableApplicationContext context;
+    private FriendshipService friendshipService;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("user-service", UserServiceApplication.class);
+        friendshipService = context.getBean(FriendshipService.class);
+        UserRepo userRepository = context.getBean(UserRepo.class);
+        FriendshipRepo friendshipRepository = context.getBean(FriendshipRepo.class);
+
+        userId = userRepository.save(user(0)).getId();
+
+        List<User> others = new ArrayList<>();
+        for (int i = 1; i <= friendCount * 2; i++) {
+            others.add(user(i));
+        }
+        others = userRepository.saveAll(others);
+
+        // half accepted friends, half pending requests addressed to the user
+        List<Friendship> friendships = new ArrayList<>();
+        for (int i = 0; i < others.size(); i++) {
+            Friendship friendship = new Friendship();
+            friendship.setRequesterId(others.get(i).getId());
+            friendship.setAddresseeId(userId);
+            friendship.setStatus(i < friendCount ? FriendshipStatus.ACCEPTED : FriendshipStatus.PENDING);
+            friendships.add(friendship);
+        }
+        friendshipRepository.saveAll(friendships);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object getMyFriends() {
+        return friendshipService.getMyFriends(userId);
+    }
+
+    @Benchmark
+    public Object getPendingRequests() {
+        return friendshipService.getPendingRequests(userId);
+    }
+
+    private static User user(int i) {
+        User user = new User();
+        user.setName("user" + i);
+        user.setEmail("user" + i + "@bench.example.com");
+        user.setPassword("x");
+        return user;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.benchmarks;
+
+import com.example.api_gateway.Security.IdentityAssertion;
+import com.example.api_gateway.Security.JwtAuthenticationFilter;
+import com.example.api_gateway.Security.JwtUtil;
+import com.example.api_gateway.Security.RouteValidator;
+import com.example.api_gateway.Security.TokenRevocations;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayBenchmarks {
+
+    private static final String SECRET = "benchmarkSecretKeyThatIsAtLeast32BytesLongForHS256";
+
+    private JwtUtil cachedJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private JwtAuthenticationFilter filter;
+    private RouteValidator routeValidator;
+    private String token;
+    private MockServerHttpRequest protectedRequest;
+    private MockServerHttpRequest openRequest;
+    private MockServerHttpRequest publicFeedRequest;
+    private GatewayFilterChain chain;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cachedJwtUtil = new JwtUtil(SECRET, 10_000, new SimpleMeterRegistry());
+        uncachedJwtUtil = new JwtUtil(SECRET, 0, new SimpleMeterRegistry());
+        routeValidator = new RouteValidator();
+        TokenRevocations revocations = new TokenRevocations(0.001, new SimpleMeterRegistry());
+        // A realistic filter: thousands of revoked ids, none of them the benchmark token's
+        List<String> revoked = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            revoked.add(UUID.randomUUID().toString());
+        }
+        revocations.replace(revoked);
+        filter = new JwtAuthenticationFilter(cachedJwtUtil, routeValidator, revocations, new IdentityAssertion(SECRET));
+
+        token = Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject("42")
+                .claim("email", "bench@example.com")
+                .claim("name", "bench")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        protectedRequest = MockServerHttpRequest.get("/events/my")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .build();
+        openRequest = MockServerHttpRequest.post("/auth/login").build();
+        publicFeedRequest = MockServerHttpRequest.get("/events").build();
+        chain = exchange -> Mono.empty();
+    }
+
+    @Benchmark
+    public Object validateAndGetClaimsCached() {
+        return cachedJwtUtil.validateAndGetClaims(token);
+    }
+
+    @Benchmark
+    public Object validateAndGetClaimsUncached() {
+        return uncachedJwtUtil.validateAndGetClaims(token);
+    }
+
+    @Benchmark
+    public Object filterProtectedRequest() {
+        return filter.filter(MockServerWebExchange.from(protectedRequest), chain).block();
+    }
+
+    @Benchmark
+    public void isOpenEndpoint(Blackhole bh) {
+        bh.consume(routeValidator.isOpenEndpoint(openRequest));
+        bh.consume(routeValidator.isOpenEndpoint(publicFeedRequest));
+        bh.consume(routeValidator.isOpenEndpoint(protectedRequest));
+    }
+}
@@ -1,12 +1,18 @@
 package com.example.event_service.Controller;
 
+import com.example.event_service.Dto.EventBulkCreate;
 import com.example.event_service.Dto.EventCreate;
+import com.example.event_service.Dto.EventPage;
 import com.example.event_service.Dto.EventResponse;
 import com.example.event_service.Service.EventService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -20,8 +26,26 @@ public class EventController {
     }
 
     @GetMapping
-    public List<EventResponse> getPublicEvents() {
-        return eventService.getPublicEvents();
+    public EventPage getPublicEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        // Polled by the frontend: an unchanged page is answered with 304 and no body
+        if (request.checkNotModified(eventService.publicEventsEtag(cursor, size))) {
+            return null;
+        }
+        return eventService.getPublicEvents(cursor, size);
+    }
+
+    // Batched lookup for other services (appointment listing); more specific than the feed mapping
+    @GetMapping(params = "ids")
+    public List<EventResponse> getEventsByIds(@RequestParam List<Long> ids) {
+        return eventService.getEventsByIds(ids);
+    }
+
+    @GetMapping(produces = "application/x-ndjson")
+    public StreamingResponseBody streamPublicEvents() {
+        return eventService::streamPublicEvents;
     }
 
     @PostMapping
@@ -32,11 +56,32 @@ public class EventController {
         return eventService.createEvent(userId, request);
     }
 
+    @PostMapping("/bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<EventResponse> createBulkEvents(
+            @RequestHeader("X-User-Id") Long userId,
+            @Valid @RequestBody EventBulkCreate request) {
+        return eventService.createBulkEvents(userId, request);
+    }
+
     @GetMapping("/my")
-    public List<EventResponse> getMyEvents(@RequestHeader("X-User-Id") Long userId) {
+    public List<EventResponse> getMyEvents(@RequestHeader("X-User-Id") Long userId, WebRequest request) {
+        if (request.checkNotModified(eventService.userEventsEtag(userId))) {
+            return null;
+        }
         return eventService.getEventsByUser(userId);
     }
 
+    @GetMapping("/feed/friends")
+    public EventPage getFriendsFeed(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return eventService.getFriendsFeed(userId, cursor, size, from, to);
+    }
+
     @GetMapping("/user/{userId}")
     public List<EventResponse> getEventsByUser(
             @PathVariable Long userId,
@@ -50,8 +95,8 @@ public class EventController {
     }
 
     @PutMapping("/{id}/lock")
-    public EventResponse lock(@PathVariable Long id) {
-        return eventService.lockEvent(id);
+    public EventResponse lock(@PathVariable Long id, @RequestParam(required = false) String owner) {
+        return eventService.lockEvent(id, owner);
     }
 
     @PutMapping("/{id}/book")
@@ -59,6 +104,19 @@ public class EventController {
         return eventService.bookEvent(id);
     }
 
+    @PutMapping("/{id}/reserve")
+    public EventResponse reserve(@PathVariable Long id,
+                                 @RequestParam Long bookedBy,
+                                 @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return eventService.reserveEvent(id, bookedBy, idempotencyKey);
+    }
+
+    @PutMapping("/{id}/release")
+    public void release(@PathVariable Long id,
+                        @RequestHeader("Idempotency-Key") String idempotencyKey) {
+        eventService.releaseEvent(id, idempotencyKey);
+    }
+
     @PutMapping("/{id}/unlock")
     public void unlock(@PathVariable Long id) {
         eventService.unlockEvent(id);
@@ -0,0 +1,33 @@
+package com.example.event_service.Dto;
+
+import java.util.Collection;
+
+// Body of user-service's POST /users/can-view/batch
+public class CanViewBatchRequest {
+    private Long viewerId;
+    private Collection<Long> ownerIds;
+
+    public CanViewBatchRequest() {
+    }
+
+    public CanViewBatchRequest(Long viewerId, Collection<Long> ownerIds) {
+        this.viewerId = viewerId;
+        this.ownerIds = ownerIds;
+    }
+
+    public Long getViewerId() {
+        return viewerId;
+    }
+
+    public void setViewerId(Long viewerId) {
+        this.viewerId = viewerId;
+    }
+
+    public Collection<Long> getOwnerIds() {
+        return ownerIds;
+    }
+
+    public void setOwnerIds(Collection<Long> ownerIds) {
+        this.ownerIds = ownerIds;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.event_service.Dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+// Recurrence rule: every daysOfWeek between startDate and endDate,
+// dayStart-dayEnd cut into slotMinutes chunks
+public class EventBulkCreate {
+
+    // Bounds RecurrenceExpander's day-by-day loop; a far-future date would otherwise spin
+    // until LocalDate overflows and surface as a 500 instead of a 400
+    public static final long MAX_RANGE_DAYS = 730;
+
+    @NotNull(message = "Start date cannot be null")
+    @FutureOrPresent(message = "Start date cannot be in the past")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date cannot be null")
+    private LocalDate endDate;
+
+    @NotEmpty(message = "At least one day of week is required")
+    private Set<DayOfWeek> daysOfWeek;
+
+    @NotNull(message = "Day start cannot be null")
+    private LocalTime dayStart;
+
+    @NotNull(message = "Day end cannot be null")
+    private LocalTime dayEnd;
+
+    @NotNull(message = "Slot length cannot be null")
+    @Min(value = 5, message = "Slot length must be at least 5 minutes")
+    @Max(value = 1440, message = "Slot length cannot exceed one day")
+    private Integer slotMinutes;
+
+    private Boolean isPublic = true;
+
+    private String description;
+
+    @AssertTrue(message = "Start date cannot be more than " + MAX_RANGE_DAYS + " days ahead")
+    public boolean isStartWithinRange() {
+        return startDate == null || ChronoUnit.DAYS.between(LocalDate.now(), startDate) <= MAX_RANGE_DAYS;
+    }
+
+    @AssertTrue(message = "Recurrence cannot span more than " + MAX_RANGE_DAYS + " days")
+    public boolean isEndWithinRange() {
+        return startDate == null || endDate == null
+                || ChronoUnit.DAYS.between(startDate, endDate) <= MAX_RANGE_DAYS;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public Set<DayOfWeek> getDaysOfWeek() {
+        return daysOfWeek;
+    }
+
+    public void setDaysOfWeek(Set<DayOfWeek> daysOfWeek) {
+        this.daysOfWeek = daysOfWeek;
+    }
+
+    public LocalTime getDayStart() {
+        return dayStart;
+    }
+
+    public void setDayStart(LocalTime dayStart) {
+        this.dayStart = dayStart;
+    }
+
+    public LocalTime getDayEnd() {
+        return dayEnd;
+    }
+
+    public void setDayEnd(LocalTime dayEnd) {
+        this.dayEnd = dayEnd;
+    }
+
+    public Integer getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public void setSlotMinutes(Integer slotMinutes) {
+        this.slotMinutes = slotMinutes;
+    }
+
+    public Boolean getIsPublic() {
+        return isPublic;
+    }
+
+    public void setIsPublic(Boolean isPublic) {
+        this.isPublic = isPublic;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.event_service.Dto;
+
+import java.util.List;
+
+public class EventPage {
+
+    private List<EventResponse> items;
+    private String nextCursor;
+
+    public EventPage(List<EventResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<EventResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<EventResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
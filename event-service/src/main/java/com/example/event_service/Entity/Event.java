@@ -7,8 +7,10 @@ import java.time.LocalDateTime;
 @Table(name = "events")
 public class Event {
 
+    // Sequence (not IDENTITY) so Hibernate can batch inserts; allocationSize matches V3 migration
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = 50)
     private Long id;
 
     // User Service'e referans
@@ -20,10 +22,24 @@ public class Event {
     private boolean available = true;
     private boolean locked = false;
 
+    // Lease on the lock; once it passes, the slot is free again (see LockLeaseSweeper)
+    private LocalDateTime lockedUntil;
+
+    @Column(length = 64)
+    private String lockOwner;
+
     private boolean isPublic = true;
 
     private String description;
 
+    // Idempotency key of the saga that reserved the slot; lets retries and releases match
+    @Column(length = 64)
+    private String reservationKey;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version = 0L;
+
     //getters
     public Long getId() {
         return id;
@@ -82,6 +98,10 @@ public class Event {
         this.isPublic = isPublic;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -89,4 +109,32 @@ public class Event {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public void setLockedUntil(LocalDateTime lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+
+    public String getLockOwner() {
+        return lockOwner;
+    }
+
+    public void setLockOwner(String lockOwner) {
+        this.lockOwner = lockOwner;
+    }
+
+    public boolean isLockHeld(LocalDateTime now) {
+        return locked && (lockedUntil == null || lockedUntil.isAfter(now));
+    }
+
+    public String getReservationKey() {
+        return reservationKey;
+    }
+
+    public void setReservationKey(String reservationKey) {
+        this.reservationKey = reservationKey;
+    }
 }
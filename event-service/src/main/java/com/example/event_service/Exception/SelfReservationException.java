@@ -0,0 +1,8 @@
+package com.example.event_service.Exception;
+
+public class SelfReservationException extends RuntimeException {
+
+    public SelfReservationException(Long id) {
+        super("You cannot reserve your own event " + id);
+    }
+}
@@ -1,21 +1,113 @@
 package com.example.event_service.Repository;
 import com.example.event_service.Entity.Event;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 public interface EventRepo extends JpaRepository<Event, Long> {
 
     List<Event> findByUserId(Long userId);
 
+    @Query("SELECT COUNT(e) AS count, MAX(e.id) AS maxId, SUM(e.version) AS versionSum " +
+           "FROM Event e WHERE e.userId = :userId")
+    EventStamp stampByUserId(@Param("userId") Long userId);
+
+    // Public feed stamp over the whole table: with a public/available filter one slot leaving
+    // the feed and another joining could cancel out, here every write moves a count, max id or sum
+    @Query("SELECT COUNT(e) AS count, MAX(e.id) AS maxId, SUM(e.version) AS versionSum FROM Event e")
+    EventStamp stampAll();
 
-    boolean existsByUserIdAndStartTimeLessThanAndEndTimeGreaterThan(
+    // Served by the events_no_overlap GiST index (user_id, tsrange(start_time, end_time))
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM events WHERE user_id = :userId " +
+                   "AND tsrange(start_time, end_time) && tsrange(:start, :end))",
+           nativeQuery = true)
+    boolean existsOverlapping(@Param("userId") Long userId,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end);
+
+    // Every existing slot of the user that touches [start, end), for batch overlap checks
+    List<Event> findByUserIdAndStartTimeLessThanAndEndTimeGreaterThanOrderByStartTimeAsc(
             Long userId,
             LocalDateTime end,
             LocalDateTime start
     );
 
-    List<Event> findByIsPublicTrueAndAvailableTrue();
+    List<Event> findByIsPublicTrueAndAvailableTrueOrderByStartTimeAscIdAsc(Pageable pageable);
+
+    // Keyset: rows strictly after (startTime, id) of the previous page
+    @Query("SELECT e FROM Event e WHERE e.isPublic = true AND e.available = true AND " +
+           "(e.startTime > :startTime OR (e.startTime = :startTime AND e.id > :id)) " +
+           "ORDER BY e.startTime, e.id")
+    List<Event> findPublicEventsAfter(@Param("startTime") LocalDateTime startTime,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    @Query("SELECT e FROM Event e WHERE e.isPublic = true AND e.available = true " +
+           "ORDER BY e.startTime, e.id")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Event> streamPublicEvents();
 
     List<Event> findByUserIdAndIsPublicTrueAndAvailableTrue(Long userId);
+
+    // Friends feed: every host in one query, window on startTime, keyset on (startTime, id)
+    @Query("SELECT e FROM Event e WHERE e.userId IN :userIds AND e.isPublic = true AND e.available = true " +
+           "AND e.startTime >= :from AND e.startTime < :to ORDER BY e.startTime, e.id")
+    List<Event> findFeed(@Param("userIds") Collection<Long> userIds,
+                         @Param("from") LocalDateTime from,
+                         @Param("to") LocalDateTime to,
+                         Pageable pageable);
+
+    @Query("SELECT e FROM Event e WHERE e.userId IN :userIds AND e.isPublic = true AND e.available = true " +
+           "AND e.startTime < :to AND " +
+           "(e.startTime > :startTime OR (e.startTime = :startTime AND e.id > :id)) " +
+           "ORDER BY e.startTime, e.id")
+    List<Event> findFeedAfter(@Param("userIds") Collection<Long> userIds,
+                              @Param("to") LocalDateTime to,
+                              @Param("startTime") LocalDateTime startTime,
+                              @Param("id") Long id,
+                              Pageable pageable);
+
+    // Atomic lock+book: only one caller can flip an available, unlocked slot.
+    // An expired lease counts as unlocked
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Event e SET e.locked = true, e.available = false, e.reservationKey = :key, " +
+           "e.lockedUntil = null, e.lockOwner = null, e.version = e.version + 1 " +
+           "WHERE e.id = :id AND e.available = true AND e.userId <> :bookedBy " +
+           "AND (e.locked = false OR e.lockedUntil < :now)")
+    int reserve(@Param("id") Long id,
+                @Param("bookedBy") Long bookedBy,
+                @Param("key") String key,
+                @Param("now") LocalDateTime now);
+
+    // Compensation: only undoes the reservation made under the same key
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Event e SET e.locked = false, e.available = true, e.reservationKey = null, " +
+           "e.lockedUntil = null, e.lockOwner = null, e.version = e.version + 1 " +
+           "WHERE e.id = :id AND e.reservationKey = :key")
+    int release(@Param("id") Long id, @Param("key") String key);
+
+    // Frees up to :batchSize expired leases in one statement; SKIP LOCKED keeps it off rows
+    // a booking is writing right now
+    @Modifying
+    @Query(value = "UPDATE events SET locked = false, locked_until = NULL, lock_owner = NULL, " +
+                   "version = version + 1 WHERE id IN (" +
+                   "SELECT id FROM events WHERE locked = true AND available = true " +
+                   "AND locked_until < :now LIMIT :batchSize FOR UPDATE SKIP LOCKED)",
+           nativeQuery = true)
+    int releaseExpiredLeases(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
 }
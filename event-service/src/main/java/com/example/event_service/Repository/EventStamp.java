@@ -0,0 +1,12 @@
+package com.example.event_service.Repository;
+
+// Cheap change marker for a set of events: every write bumps a version,
+// inserts and deletes move the count/max id
+public interface EventStamp {
+
+    Long getCount();
+
+    Long getMaxId();
+
+    Long getVersionSum();
+}
@@ -0,0 +1,47 @@
+package com.example.event_service.Service;
+
+import com.example.event_service.Entity.Event;
+import com.example.event_service.Exception.EventException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Opaque keyset cursor: base64url("<startTime>|<id>") of the last row on a page
+public final class EventCursor {
+
+    private final LocalDateTime startTime;
+    private final Long id;
+
+    private EventCursor(LocalDateTime startTime, Long id) {
+        this.startTime = startTime;
+        this.id = id;
+    }
+
+    public static String encode(Event last) {
+        String raw = last.getStartTime() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new EventCursor(
+                    LocalDateTime.parse(raw.substring(0, sep)),
+                    Long.parseLong(raw.substring(sep + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new EventException("Invalid cursor");
+        }
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -1,46 +1,90 @@
 package com.example.event_service.Service;
 
+import com.example.event_service.Dto.EventBulkCreate;
 import com.example.event_service.Dto.EventCreate;
+import com.example.event_service.Dto.EventPage;
 import com.example.event_service.Dto.EventResponse;
 import com.example.event_service.Entity.Event;
 import com.example.event_service.Exception.*;
 import com.example.event_service.Repository.EventRepo;
+import com.example.event_service.Repository.EventStamp;
 import com.example.event_service.client.UserClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import feign.FeignException;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 @Service
 public class EventService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    static final int MAX_WRITE_ATTEMPTS = 3;
+    static final int MAX_BULK_SLOTS = 10_000;
+    static final int BULK_FLUSH_SIZE = 500;
+    static final Duration DEFAULT_FEED_WINDOW = Duration.ofDays(30);
+    static final Duration MAX_FEED_WINDOW = Duration.ofDays(90);
+    // Keeps the IN list well below the JDBC bind-parameter limit
+    static final int MAX_FEED_HOSTS = 1000;
+    static final int MAX_BATCH_IDS = 200;
+    static final String OVERLAP_CONSTRAINT = "events_no_overlap";
+    static final String EXCLUSION_VIOLATION = "23P01";
+
     private final EventRepo eventRepository;
     private final UserClient userClient;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration lockLease;
 
-    public EventService(EventRepo eventRepository, UserClient userClient) {
+    public EventService(EventRepo eventRepository, UserClient userClient,
+                        EntityManager entityManager, ObjectMapper objectMapper,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${event.lock.lease:30s}") Duration lockLease) {
         this.eventRepository = eventRepository;
         this.userClient = userClient;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lockLease = lockLease;
     }
 
+    // userId comes from the gateway-signed header (TrustedIdentityFilter), so no existence lookup
     public EventResponse createEvent(Long userId, EventCreate request) {
-        try {
-            userClient.getById(userId);
-        } catch (FeignException.NotFound e) {
-            throw new UserNotFoundException(userId);
-        }
-
         if (request.getEndTime().isBefore(request.getStartTime())) {
             throw new EventException("End time cannot be before start time");
         }
 
-        boolean exists = eventRepository
-                .existsByUserIdAndStartTimeLessThanAndEndTimeGreaterThan(
-                        userId,
-                        request.getEndTime(),
-                        request.getStartTime()
-                );
+        boolean exists = eventRepository.existsOverlapping(
+                userId,
+                request.getStartTime(),
+                request.getEndTime()
+        );
 
         if (exists) {
             throw new EventException("Event time overlaps with another event");
@@ -54,16 +98,197 @@ public class EventService {
         event.setPublic(request.getIsPublic() != null ? request.getIsPublic() : true);
         event.setDescription(request.getDescription());
 
-        Event saved = eventRepository.save(event);
+        Event saved;
+        try {
+            saved = eventRepository.save(event);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent create; events_no_overlap rejected the row
+            if (isOverlapViolation(e)) {
+                throw new EventException("Event time overlaps with another event");
+            }
+            throw e;
+        }
 
         return mapToResponse(saved);
     }
 
-    public List<EventResponse> getPublicEvents() {
-        return eventRepository.findByIsPublicTrueAndAvailableTrue()
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public List<EventResponse> createBulkEvents(Long userId, EventBulkCreate request) {
+        List<Event> slots = RecurrenceExpander.expand(request, LocalDateTime.now(), MAX_BULK_SLOTS);
+        if (slots.isEmpty()) {
+            throw new EventException("Recurrence does not produce any future slot");
+        }
+
+        // One range query for the whole batch, then a linear sweep over both sorted lists
+        List<Event> existing = eventRepository
+                .findByUserIdAndStartTimeLessThanAndEndTimeGreaterThanOrderByStartTimeAsc(
+                        userId,
+                        slots.get(slots.size() - 1).getEndTime(),
+                        slots.get(0).getStartTime()
+                );
+        int j = 0;
+        for (Event slot : slots) {
+            while (j < existing.size() && !existing.get(j).getEndTime().isAfter(slot.getStartTime())) {
+                j++;
+            }
+            if (j < existing.size() && existing.get(j).getStartTime().isBefore(slot.getEndTime())) {
+                throw new EventException("Slot " + slot.getStartTime() + " overlaps with another event");
+            }
+        }
+
+        boolean isPublic = request.getIsPublic() != null ? request.getIsPublic() : true;
+        try {
+            return transactionTemplate.execute(status -> {
+                List<EventResponse> created = new ArrayList<>(slots.size());
+                for (int i = 0; i < slots.size(); i++) {
+                    Event slot = slots.get(i);
+                    slot.setUserId(userId);
+                    slot.setAvailable(true);
+                    slot.setPublic(isPublic);
+                    slot.setDescription(request.getDescription());
+                    entityManager.persist(slot);
+                    created.add(mapToResponse(slot));
+
+                    if ((i + 1) % BULK_FLUSH_SIZE == 0) {
+                        eventRepository.flush();
+                        entityManager.clear();
+                    }
+                }
+                return created;
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new EventException("Event time overlaps with another event");
+            }
+            throw e;
+        }
+    }
+
+    // Only the exclusion constraint means "overlap"; NOT NULL, FK, etc. are real errors
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && EXCLUSION_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+            if (cause.getMessage() != null && cause.getMessage().contains(OVERLAP_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Checked before the page is loaded; the cursor is parsed first so a bad one is still a 400
+    public String publicEventsEtag(String cursor, Integer size) {
+        EventCursor after = cursor == null || cursor.isBlank() ? null : EventCursor.decode(cursor);
+        return etag(eventRepository.stampAll(), "public", pageSize(size),
+                after == null ? "first" : after.getStartTime() + "|" + after.getId());
+    }
+
+    public String userEventsEtag(Long userId) {
+        return etag(eventRepository.stampByUserId(userId), "user", userId);
+    }
+
+    // Weak: the gateway may re-encode (compress) the body. Scope parts are parsed values,
+    // never raw request strings, so the tag stays a valid quoted-string.
+    private static String etag(EventStamp stamp, Object... scope) {
+        StringJoiner tag = new StringJoiner("-", "W/\"", "\"");
+        tag.add(String.valueOf(stamp.getCount()))
+                .add(String.valueOf(stamp.getMaxId()))
+                .add(String.valueOf(stamp.getVersionSum()));
+        for (Object part : scope) {
+            tag.add(String.valueOf(part));
+        }
+        return tag.toString();
+    }
+
+    public EventPage getPublicEvents(String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        // One extra row tells us whether another page exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<Event> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = eventRepository.findByIsPublicTrueAndAvailableTrueOrderByStartTimeAscIdAsc(limit);
+        } else {
+            EventCursor after = EventCursor.decode(cursor);
+            rows = eventRepository.findPublicEventsAfter(after.getStartTime(), after.getId(), limit);
+        }
+
+        return toPage(rows, pageSize);
+    }
+
+    // Open public slots of all the viewer's friends in [from, to), merged by startTime
+    public EventPage getFriendsFeed(Long viewerId, String cursor, Integer size,
+                                    LocalDateTime from, LocalDateTime to) {
+        LocalDateTime windowStart = from == null ? LocalDateTime.now() : from;
+        LocalDateTime windowEnd = to == null ? windowStart.plus(DEFAULT_FEED_WINDOW) : to;
+        if (!windowEnd.isAfter(windowStart)) {
+            throw new EventException("Feed window end must be after its start");
+        }
+        if (windowEnd.isAfter(windowStart.plus(MAX_FEED_WINDOW))) {
+            throw new EventException("Feed window cannot be longer than " + MAX_FEED_WINDOW.toDays() + " days");
+        }
+
+        long[] friendIds;
+        try {
+            friendIds = userClient.getFriendIds(viewerId);
+        } catch (FeignException e) {
+            throw new EventException("Error loading friends");
+        }
+        if (friendIds.length == 0) {
+            return new EventPage(List.of(), null);
+        }
+        List<Long> hosts = LongStream.of(friendIds).boxed().toList();
+
+        int pageSize = pageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        EventCursor after = cursor == null || cursor.isBlank() ? null : EventCursor.decode(cursor);
+
+        // One query per MAX_FEED_HOSTS hosts; each chunk returns its own first pageSize + 1 rows,
+        // so the first pageSize + 1 of the merged, re-sorted rows are the page
+        List<Event> rows = new ArrayList<>();
+        for (int i = 0; i < hosts.size(); i += MAX_FEED_HOSTS) {
+            List<Long> chunk = hosts.subList(i, Math.min(i + MAX_FEED_HOSTS, hosts.size()));
+            rows.addAll(after == null
+                    ? eventRepository.findFeed(chunk, windowStart, windowEnd, limit)
+                    : eventRepository.findFeedAfter(chunk, windowEnd, after.getStartTime(), after.getId(), limit));
+        }
+        if (hosts.size() > MAX_FEED_HOSTS) {
+            rows.sort(Comparator.comparing(Event::getStartTime).thenComparing(Event::getId));
+            rows = rows.subList(0, Math.min(rows.size(), pageSize + 1));
+        }
+
+        return toPage(rows, pageSize);
+    }
+
+    private static int pageSize(Integer size) {
+        return size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private EventPage toPage(List<Event> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<Event> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? EventCursor.encode(page.get(page.size() - 1)) : null;
+
+        return new EventPage(
+                page.stream().map(this::mapToResponse).collect(Collectors.toList()),
+                nextCursor
+        );
+    }
+
+    // NDJSON: each row is written and detached as it comes off the JDBC cursor
+    @Transactional(readOnly = true)
+    public void streamPublicEvents(OutputStream out) {
+        try (Stream<Event> events = eventRepository.streamPublicEvents()) {
+            events.forEach(event -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(mapToResponse(event)));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                entityManager.detach(event);
+            });
+        }
     }
 
     public List<EventResponse> getEventsByUser(Long userId, Long viewerId) {
@@ -102,46 +327,123 @@ public class EventService {
         return mapToResponse(event);
     }
 
-    @Transactional
+    // One IN query for the whole batch; unknown ids are skipped and the request's order is kept
+    public List<EventResponse> getEventsByIds(List<Long> ids) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinct.size() > MAX_BATCH_IDS) {
+            throw new EventException("At most " + MAX_BATCH_IDS + " ids per request");
+        }
+
+        Map<Long, Event> found = eventRepository.findAllById(distinct).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        return distinct.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
     public EventResponse lockEvent(Long id) {
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> new EventNotFoundException(id));
+        return lockEvent(id, null);
+    }
 
-        if (!event.isAvailable()) {
-            throw new EventAlreadyBookedException(id);
-        }
-        if (event.isLocked()) {
-            throw new EventAlreadyLockedException(id);
-        }
+    public EventResponse lockEvent(Long id, String owner) {
+        return withOptimisticRetry(id, () -> {
+            Event event = eventRepository.findById(id)
+                    .orElseThrow(() -> new EventNotFoundException(id));
 
-        event.setLocked(true);
-        eventRepository.save(event);
-        return mapToResponse(event);
+            LocalDateTime now = LocalDateTime.now();
+            if (!event.isAvailable()) {
+                throw new EventAlreadyBookedException(id);
+            }
+            // An expired lease is taken over here; the sweeper does not have to run first
+            if (event.isLockHeld(now)) {
+                throw new EventAlreadyLockedException(id);
+            }
+
+            event.setLocked(true);
+            event.setLockedUntil(now.plus(lockLease));
+            event.setLockOwner(owner);
+            // flush inside the attempt so a version conflict surfaces here, not at commit
+            return eventRepository.saveAndFlush(event);
+        });
     }
 
-    @Transactional
     public EventResponse bookEvent(Long id) {
+        return withOptimisticRetry(id, () -> {
+            Event event = eventRepository.findById(id)
+                    .orElseThrow(() -> new EventNotFoundException(id));
+
+            if (!event.isAvailable()) {
+                throw new EventAlreadyBookedException(id);
+            }
+
+            event.setAvailable(false);
+            event.setLockedUntil(null);
+            event.setLockOwner(null);
+            return eventRepository.saveAndFlush(event);
+        });
+    }
+
+    @Transactional
+    public EventResponse reserveEvent(Long id, Long bookedBy, String reservationKey) {
+        int updated = eventRepository.reserve(id, bookedBy, reservationKey, LocalDateTime.now());
+
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new EventNotFoundException(id));
 
-        if (!event.isAvailable()) {
-            throw new EventAlreadyBookedException(id);
+        if (updated == 0) {
+            // Replayed request whose first attempt already won
+            if (reservationKey != null && reservationKey.equals(event.getReservationKey())) {
+                return mapToResponse(event);
+            }
+            if (event.getUserId().equals(bookedBy)) {
+                throw new SelfReservationException(id);
+            }
+            if (!event.isAvailable()) {
+                throw new EventAlreadyBookedException(id);
+            }
+            throw new EventAlreadyLockedException(id);
         }
 
-        event.setAvailable(false);
-        eventRepository.save(event);
         return mapToResponse(event);
     }
 
     @Transactional
+    public void releaseEvent(Long id, String reservationKey) {
+        if (!eventRepository.existsById(id)) {
+            throw new EventNotFoundException(id);
+        }
+        // No-op when the key no longer holds the slot, so retried releases are safe
+        eventRepository.release(id, reservationKey);
+    }
+
     public EventResponse unlockEvent(Long id) {
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> new EventNotFoundException(id));
+        return withOptimisticRetry(id, () -> {
+            Event event = eventRepository.findById(id)
+                    .orElseThrow(() -> new EventNotFoundException(id));
 
-        event.setLocked(false);
-        event.setAvailable(true);
-        eventRepository.save(event);
-        return mapToResponse(event);
+            event.setLocked(false);
+            event.setAvailable(true);
+            event.setReservationKey(null);
+            event.setLockedUntil(null);
+            event.setLockOwner(null);
+            return eventRepository.saveAndFlush(event);
+        });
+    }
+
+    // Each attempt runs in its own transaction; a losing writer re-reads the fresh row,
+    // which normally turns the conflict into a clean 409 on the next pass.
+    private EventResponse withOptimisticRetry(Long id, Supplier<Event> attempt) {
+        for (int i = 1; ; i++) {
+            try {
+                return mapToResponse(transactionTemplate.execute(status -> attempt.get()));
+            } catch (ConcurrencyFailureException e) {
+                if (i >= MAX_WRITE_ATTEMPTS) {
+                    throw new EventAlreadyLockedException(id);
+                }
+            }
+        }
     }
 
     private EventResponse mapToResponse(Event event) {
@@ -0,0 +1,48 @@
+package com.example.event_service.Service;
+
+import com.example.event_service.Repository.EventRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+// Returns slots whose lock lease ran out (e.g. the locking caller died) to the bookable inventory
+@Component
+@ConditionalOnProperty(name = "event.lock.sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class LockLeaseSweeper {
+
+    private final EventRepo eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter reclaimed;
+    private final int batchSize;
+
+    public LockLeaseSweeper(EventRepo eventRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${event.lock.sweeper.batch-size:500}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reclaimed = Counter.builder("event.lock.leases.reclaimed")
+                .description("Expired lock leases released by the sweeper")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${event.lock.sweeper.interval:10s}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer released;
+        do {
+            // One short transaction per batch keeps row locks brief
+            released = transactionTemplate.execute(status ->
+                    eventRepository.releaseExpiredLeases(now, batchSize));
+            reclaimed.increment(released == null ? 0 : released);
+        } while (released != null && released == batchSize);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.event_service.Service;
+
+import com.example.event_service.Dto.EventBulkCreate;
+import com.example.event_service.Entity.Event;
+import com.example.event_service.Exception.EventException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Expands an EventBulkCreate rule into slots sorted by startTime
+final class RecurrenceExpander {
+
+    private RecurrenceExpander() {
+    }
+
+    static List<Event> expand(EventBulkCreate rule, LocalDateTime now, int maxSlots) {
+        if (rule.getEndDate().isBefore(rule.getStartDate())) {
+            throw new EventException("End date cannot be before start date");
+        }
+        if (!rule.getDayEnd().isAfter(rule.getDayStart())) {
+            throw new EventException("Day end must be after day start");
+        }
+
+        List<Event> slots = new ArrayList<>();
+        for (LocalDate date = rule.getStartDate(); !date.isAfter(rule.getEndDate()); date = date.plusDays(1)) {
+            if (!rule.getDaysOfWeek().contains(date.getDayOfWeek())) {
+                continue;
+            }
+
+            LocalDateTime dayEnd = date.atTime(rule.getDayEnd());
+            LocalDateTime start = date.atTime(rule.getDayStart());
+            LocalDateTime end = start.plusMinutes(rule.getSlotMinutes());
+            for (; !end.isAfter(dayEnd); start = end, end = end.plusMinutes(rule.getSlotMinutes())) {
+                if (start.isBefore(now)) {
+                    continue;
+                }
+                if (slots.size() == maxSlots) {
+                    throw new EventException("Recurrence expands to more than " + maxSlots + " slots");
+                }
+
+                Event slot = new Event();
+                slot.setStartTime(start);
+                slot.setEndTime(end);
+                slots.add(slot);
+            }
+        }
+        return slots;
+    }
+}
@@ -1,18 +1,30 @@
 package com.example.event_service.client;
 
-import com.example.event_service.Dto.UserDto;
+import com.example.event_service.Dto.CanViewBatchRequest;
+import com.example.internal_identity.TombstoneSource;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "user-service")
-public interface UserClient {
+import java.util.Map;
 
-    @GetMapping("/users/{id}")
-    void getById(@PathVariable Long id);
+// getTombstones comes from TombstoneSource and feeds the shared UserTombstones mirror
+@FeignClient(name = "user-service")
+public interface UserClient extends TombstoneSource {
 
     @GetMapping("/users/{id}/can-view")
     boolean canView(@PathVariable Long id, @RequestParam Long viewerId);
+
+    // Sorted ids of the user's accepted friends (served from user-service's in-memory graph)
+    @GetMapping("/friendships/ids")
+    long[] getFriendIds(@RequestHeader("X-User-Id") Long userId);
+
+    // ownerId -> canView for many owners in one call; unknown owners map to false
+    @PostMapping("/users/can-view/batch")
+    Map<Long, Boolean> canViewBatch(@RequestBody CanViewBatchRequest request);
 }
 
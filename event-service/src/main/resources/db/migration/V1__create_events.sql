@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS events (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id     BIGINT,
+    start_time  TIMESTAMP(6),
+    end_time    TIMESTAMP(6),
+    available   BOOLEAN NOT NULL,
+    locked      BOOLEAN NOT NULL,
+    is_public   BOOLEAN NOT NULL,
+    description VARCHAR(255),
+    version     BIGINT NOT NULL DEFAULT 0
+);
+
+-- Databases created by ddl-auto before the @Version column existed
+ALTER TABLE events ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
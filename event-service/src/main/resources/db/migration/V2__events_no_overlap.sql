@@ -0,0 +1,8 @@
+-- One host cannot own two overlapping slots. The exclusion constraint is enforced
+-- atomically by PostgreSQL and its GiST index also serves the overlap lookup
+-- in EventRepo.existsOverlapping.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE events
+    ADD CONSTRAINT events_no_overlap
+    EXCLUDE USING gist (user_id WITH =, tsrange(start_time, end_time) WITH &&);
@@ -0,0 +1,7 @@
+-- Hibernate cannot batch inserts for IDENTITY columns. Switch events.id to a
+-- pooled sequence (increment = allocationSize on Event.id) so inserts can be batched.
+ALTER TABLE events ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE events ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS events_seq INCREMENT BY 50;
+SELECT setval('events_seq', COALESCE((SELECT MAX(id) FROM events), 0) + 51, false);
@@ -0,0 +1,2 @@
+-- Idempotency key of the booking saga holding the slot (see PUT /events/{id}/reserve, /release)
+ALTER TABLE events ADD COLUMN IF NOT EXISTS reservation_key VARCHAR(64);
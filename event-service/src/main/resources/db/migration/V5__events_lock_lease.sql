@@ -0,0 +1,10 @@
+-- Lock leases: a lock is only held until locked_until (see LockLeaseSweeper)
+ALTER TABLE events ADD COLUMN IF NOT EXISTS locked_until TIMESTAMP;
+ALTER TABLE events ADD COLUMN IF NOT EXISTS lock_owner VARCHAR(64);
+
+-- Locks taken before leases existed never expire on their own; let the sweeper reclaim them
+UPDATE events SET locked_until = now() WHERE locked = true AND available = true AND locked_until IS NULL;
+
+-- Sweeper scan: only currently locked, still-bookable slots
+CREATE INDEX IF NOT EXISTS idx_events_lock_lease ON events (locked_until)
+    WHERE locked = true AND available = true;
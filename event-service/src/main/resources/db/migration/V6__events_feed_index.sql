@@ -0,0 +1,3 @@
+-- Friends feed (EventRepo.findFeed): user_id IN (...) with a start_time range, ordered by (start_time, id)
+CREATE INDEX IF NOT EXISTS idx_events_feed ON events (user_id, start_time, id)
+    WHERE is_public = true AND available = true;
@@ -0,0 +1,8 @@
+-- Public feed (findByIsPublicTrueAndAvailableTrueOrderByStartTimeAscIdAsc, findPublicEventsAfter,
+-- streamPublicEvents): keyset pages read straight off the index in (start_time, id) order
+CREATE INDEX IF NOT EXISTS idx_events_public ON events (start_time, id)
+    WHERE is_public = true AND available = true;
+
+-- A host's own slots (findByUserId, the bulk-create overlap range, stampByUserId); INCLUDE makes
+-- the ETag stamp index-only
+CREATE INDEX IF NOT EXISTS idx_events_user ON events (user_id, start_time, id) INCLUDE (version);
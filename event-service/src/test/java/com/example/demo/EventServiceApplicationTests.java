@@ -3,7 +3,7 @@ package com.example.demo;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "internal.identity.secret=testInternalIdentityKeyThatIsAtLeast32BytesLong")
 class EventServiceApplicationTests {
 
 	@Test
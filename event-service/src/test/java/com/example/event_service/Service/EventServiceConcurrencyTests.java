@@ -0,0 +1,78 @@
+package com.example.event_service.Service;
+
+import com.example.event_service.Entity.Event;
+import com.example.event_service.Exception.EventAlreadyLockedException;
+import com.example.event_service.Repository.EventRepo;
+import com.example.event_service.client.UserClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EventServiceConcurrencyTests {
+
+    private static final int ATTEMPTS = 2000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepo eventRepository;
+
+    @MockitoBean
+    private UserClient userClient;
+
+    @Test
+    void lockEventHasExactlyOneWinner() throws Exception {
+        Event event = new Event();
+        event.setUserId(1L);
+        event.setStartTime(LocalDateTime.now().plusDays(1));
+        event.setEndTime(LocalDateTime.now().plusDays(1).plusHours(1));
+        Long id = eventRepository.save(event).getId();
+
+        AtomicInteger winners = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    eventService.lockEvent(id);
+                    winners.incrementAndGet();
+                } catch (EventAlreadyLockedException e) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        assertEquals(1, winners.get());
+        assertEquals(ATTEMPTS - 1, conflicts.get());
+        assertTrue(eventRepository.findById(id).orElseThrow().isLocked());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.event_service.Service;
+
+import com.example.event_service.Dto.EventBulkCreate;
+import com.example.event_service.Entity.Event;
+import com.example.event_service.Repository.EventRepo;
+import com.example.event_service.client.UserClient;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the @Transactional / TransactionTemplate paths on virtual threads and fails if
+// any of them pins a carrier thread (JFR jdk.VirtualThreadPinned). Pins inside H2 are
+// ignored: H2 is only the test stand-in, production runs on the PostgreSQL driver.
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionalPinningTests {
+
+    private static final String PINNED = "jdk.VirtualThreadPinned";
+    private static final int EVENTS = 200;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepo eventRepository;
+
+    @MockitoBean
+    private UserClient userClient;
+
+    @Test
+    void transactionalPathsDoNotPinCarrierThreads() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = new Event();
+            event.setUserId(1L);
+            event.setStartTime(base.plusHours(i));
+            event.setEndTime(base.plusHours(i).plusMinutes(30));
+            ids.add(eventRepository.save(event).getId());
+        }
+
+        List<RecordedEvent> pins = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable(PINNED).withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent(PINNED, pins::add);
+            recording.startAsync();
+
+            ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+            List<Future<?>> futures = new ArrayList<>();
+            for (Long id : ids) {
+                futures.add(virtualThreads.submit(() -> {
+                    eventService.lockEvent(id);
+                    eventService.unlockEvent(id);
+                    eventService.reserveEvent(id, 2L, null);
+                    eventService.unlockEvent(id);
+                    eventService.bookEvent(id);
+                    eventService.getPublicEvents(null, 20);
+                }));
+            }
+            futures.add(virtualThreads.submit(() -> eventService.createBulkEvents(3L, weekdaySlots())));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            virtualThreads.shutdown();
+            virtualThreads.awaitTermination(30, TimeUnit.SECONDS);
+
+            // RecordingStream flushes about once a second
+            Thread.sleep(2_000);
+        }
+
+        List<String> offenders = pins.stream()
+                .filter(pin -> !inH2(pin))
+                .map(TransactionalPinningTests::describe)
+                .collect(Collectors.toList());
+        assertTrue(offenders.isEmpty(), "Virtual thread pinned:\n" + String.join("\n\n", offenders));
+    }
+
+    private static EventBulkCreate weekdaySlots() {
+        EventBulkCreate rule = new EventBulkCreate();
+        rule.setStartDate(LocalDate.now().plusYears(1));
+        rule.setEndDate(LocalDate.now().plusYears(1).plusDays(13));
+        rule.setDaysOfWeek(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+        rule.setDayStart(LocalTime.of(9, 0));
+        rule.setDayEnd(LocalTime.of(17, 0));
+        rule.setSlotMinutes(30);
+        return rule;
+    }
+
+    private static boolean inH2(RecordedEvent pin) {
+        return pin.getStackTrace() != null && pin.getStackTrace().getFrames().stream()
+                .anyMatch(frame -> frame.getMethod().getType().getName().startsWith("org.h2."));
+    }
+
+    private static String describe(RecordedEvent pin) {
+        if (pin.getStackTrace() == null) {
+            return pin.toString();
+        }
+        return pin.getStackTrace().getFrames().stream()
+                .limit(25)
+                .map(TransactionalPinningTests::frame)
+                .collect(Collectors.joining("\n  at ", "pinned for " + pin.getDuration() + "\n  at ", ""));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
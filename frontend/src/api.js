@@ -13,11 +13,45 @@ function authHeaders() {
   return headers;
 }
 
+// Access tokens live 15 minutes: on a 401 swap the refresh token for a new pair and retry once.
+// Concurrent 401s share one refresh, since each refresh token can only be used once.
+let refreshing = null;
+
+function refreshSession() {
+  if (!refreshing) {
+    refreshing = (async () => {
+      const refreshToken = localStorage.getItem("refreshToken");
+      if (!refreshToken) return false;
+      const res = await fetch(`${BASE}/auth/refresh`, {
+        method: "POST",
+        headers: { "Content-Type": "application/json" },
+        body: JSON.stringify({ refreshToken }),
+      });
+      if (!res.ok) return false;
+      const auth = await res.json();
+      localStorage.setItem("token", auth.token);
+      localStorage.setItem("refreshToken", auth.refreshToken);
+      localStorage.setItem("user", JSON.stringify(auth.user));
+      return true;
+    })().finally(() => {
+      refreshing = null;
+    });
+  }
+  return refreshing;
+}
+
+async function authFetch(url, options = {}) {
+  const res = await fetch(url, { ...options, headers: authHeaders() });
+  if (res.status !== 401 || !(await refreshSession())) return res;
+  return fetch(url, { ...options, headers: authHeaders() });
+}
+
 async function parseError(res) {
   if (res.status === 401) {
     // Login sayfasindaysa redirect yapma, hata mesajini goster
     if (!window.location.pathname.startsWith("/login")) {
       localStorage.removeItem("token");
+      localStorage.removeItem("refreshToken");
       localStorage.removeItem("user");
       window.location.href = "/login";
       return "Oturum suresi doldu. Lutfen tekrar giris yapin.";
@@ -54,35 +88,36 @@ export async function loginUser(data) {
   return res.json();
 }
 
+export async function logoutUser(refreshToken) {
+  await fetch(`${BASE}/auth/logout`, {
+    method: "POST",
+    headers: { "Content-Type": "application/json" },
+    body: JSON.stringify({ refreshToken }),
+  });
+}
+
 // Protected endpoints
 export async function getAllUsers() {
-  const res = await fetch(`${BASE}/users`, {
-    headers: authHeaders(),
-  });
+  const res = await authFetch(`${BASE}/users`);
   if (!res.ok) throw new Error(await parseError(res));
   return res.json();
 }
 
 export async function getUserById(id) {
-  const res = await fetch(`${BASE}/users/${id}`, {
-    headers: authHeaders(),
-  });
+  const res = await authFetch(`${BASE}/users/${id}`);
   if (!res.ok) throw new Error(await parseError(res));
   return res.json();
 }
 
 export async function getUserByName(name) {
-  const res = await fetch(`${BASE}/users/name/${encodeURIComponent(name)}`, {
-    headers: authHeaders(),
-  });
+  const res = await authFetch(`${BASE}/users/name/${encodeURIComponent(name)}`);
   if (!res.ok) throw new Error(await parseError(res));
   return res.json();
 }
 
 export async function createEvent(data) {
-  const res = await fetch(`${BASE}/events`, {
+  const res = await authFetch(`${BASE}/events`, {
     method: "POST",
-    headers: authHeaders(),
     body: JSON.stringify({
       startTime: data.startTime,
       endTime: data.endTime,
@@ -95,43 +130,48 @@ export async function createEvent(data) {
 }
 
 export async function getEventsByUser(userId) {
-  const res = await fetch(`${BASE}/events/user/${userId}`, {
-    headers: authHeaders(),
-  });
+  const res = await authFetch(`${BASE}/events/user/${userId}`);
   if (!res.ok) throw new Error(await parseError(res));
   return res.json();
 }
 
 export async function getMyEvents() {
-  const res = await fetch(`${BASE}/events/my`, {
-    headers: authHeaders(),
-  });
+  const res = await authFetch(`${BASE}/events/my`);
   if (!res.ok) throw new Error(await parseError(res));
   return res.json();
 }
 
 export async function createAppointment(eventId) {
-  const res = await fetch(`${BASE}/appointments`, {
+  const res = await authFetch(`${BASE}/appointments`, {
     method: "POST",
-    headers: authHeaders(),
     body: JSON.stringify({ eventId }),
   });
   if (!res.ok) throw new Error(await parseError(res));
+  // 202: randevu PENDING olarak doner, sonuc gelene kadar durumunu sorgula
+  let appt = await res.json();
+  for (let i = 0; i < 20 && appt.status === "PENDING"; i++) {
+    await new Promise((r) => setTimeout(r, 250));
+    appt = await getAppointment(appt.id);
+  }
+  if (appt.status === "FAILED") throw new Error(appt.failureReason || "Randevu olusturulamadi");
+  return appt;
+}
+
+export async function getAppointment(id) {
+  const res = await authFetch(`${BASE}/appointments/${id}`);
+  if (!res.ok) throw new Error(await parseError(res));
   return res.json();
 }
 
 export async function getMyAppointments() {
-  const res = await fetch(`${BASE}/appointments/my`, {
-    headers: authHeaders(),
-  });
+  const res = await authFetch(`${BASE}/appointments/my?withEvents=true`);
   if (!res.ok) throw new Error(await parseError(res));
   return res.json();
 }
 
 export async function cancelAppointment(id) {
-  const res = await fetch(`${BASE}/appointments/${id}`, {
+  const res = await authFetch(`${BASE}/appointments/${id}`, {
     method: "DELETE",
-    headers: authHeaders(),
   });
   if (!res.ok) throw new Error(await parseError(res));
   return res.json();
@@ -139,88 +179,77 @@ export async function cancelAppointment(id) {
 
 // Profile
 export async function updateProfile(data) {
-  const res = await fetch(`${BASE}/users/me`, {
+  const res = await authFetch(`${BASE}/users/me`, {
     method: "PUT",
-    headers: authHeaders(),
     body: JSON.stringify(data),
   });
   if (!res.ok) throw new Error(await parseError(res));
   return res.json();
 }
 
-// Public events feed (no auth needed)
-export async function getPublicEvents() {
-  const res = await fetch(`${BASE}/events`, {
+// Public events feed (no auth needed), cursor-paginated
+export async function getPublicEvents(cursor) {
+  const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : "";
+  const res = await fetch(`${BASE}/events${query}`, {
     headers: { "Content-Type": "application/json" },
   });
   if (!res.ok) throw new Error(await parseError(res));
+  // { items, nextCursor }: pass nextCursor back to load the following page
   return res.json();
 }
 
 // Friendship endpoints
 export async function sendFriendRequest(addresseeId) {
-  const res = await fetch(`${BASE}/friendships/request/${addresseeId}`, {
+  const res = await authFetch(`${BASE}/friendships/request/${addresseeId}`, {
     method: "POST",
-    headers: authHeaders(),
   });
   if (!res.ok) throw new Error(await parseError(res));
   return res.json();
 }
 
 export async function acceptFriendRequest(friendshipId) {
-  const res = await fetch(`${BASE}/friendships/${friendshipId}/accept`, {
+  const res = await authFetch(`${BASE}/friendships/${friendshipId}/accept`, {
     method: "PUT",
-    headers: authHeaders(),
   });
   if (!res.ok) throw new Error(await parseError(res));
   return res.json();
 }
 
 export async function rejectFriendRequest(friendshipId) {
-  const res = await fetch(`${BASE}/friendships/${friendshipId}/reject`, {
+  const res = await authFetch(`${BASE}/friendships/${friendshipId}/reject`, {
     method: "PUT",
-    headers: authHeaders(),
   });
   if (!res.ok) throw new Error(await parseError(res));
   return res.json();
 }
 
 export async function getMyFriends() {
-  const res = await fetch(`${BASE}/friendships`, {
-    headers: authHeaders(),
-  });
+  const res = await authFetch(`${BASE}/friendships`);
   if (!res.ok) throw new Error(await parseError(res));
   return res.json();
 }
 
 export async function getPendingFriendRequests() {
-  const res = await fetch(`${BASE}/friendships/pending`, {
-    headers: authHeaders(),
-  });
+  const res = await authFetch(`${BASE}/friendships/pending`);
   if (!res.ok) throw new Error(await parseError(res));
   return res.json();
 }
 
 export async function checkCanView(userId, viewerId) {
-  const res = await fetch(`${BASE}/users/${userId}/can-view?viewerId=${viewerId}`, {
-    headers: authHeaders(),
-  });
+  const res = await authFetch(`${BASE}/users/${userId}/can-view?viewerId=${viewerId}`);
   if (!res.ok) return false;
   return res.json();
 }
 
 export async function removeFriendship(friendshipId) {
-  const res = await fetch(`${BASE}/friendships/${friendshipId}`, {
+  const res = await authFetch(`${BASE}/friendships/${friendshipId}`, {
     method: "DELETE",
-    headers: authHeaders(),
   });
   if (!res.ok) throw new Error(await parseError(res));
 }
 
 export async function searchUsers(name) {
-  const res = await fetch(`${BASE}/users/search?name=${encodeURIComponent(name)}`, {
-    headers: authHeaders(),
-  });
+  const res = await authFetch(`${BASE}/users/search?name=${encodeURIComponent(name)}&size=8`);
   if (!res.ok) throw new Error(await parseError(res));
   return res.json();
 }
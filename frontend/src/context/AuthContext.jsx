@@ -1,4 +1,5 @@
 import { createContext, useContext, useState, useEffect } from "react";
+import { logoutUser } from "../api";
 
 const AuthContext = createContext(null);
 
@@ -19,13 +20,18 @@ export function AuthProvider({ children }) {
     setToken(authResponse.token);
     setUser(authResponse.user);
     localStorage.setItem("token", authResponse.token);
+    localStorage.setItem("refreshToken", authResponse.refreshToken);
     localStorage.setItem("user", JSON.stringify(authResponse.user));
   };
 
   const logout = () => {
+    // Sunucuda refresh token'i iptal et; basarisiz olsa da yerel oturum kapanir
+    const refreshToken = localStorage.getItem("refreshToken");
+    if (refreshToken) logoutUser(refreshToken).catch(() => {});
     setToken(null);
     setUser(null);
     localStorage.removeItem("token");
+    localStorage.removeItem("refreshToken");
     localStorage.removeItem("user");
   };
 
@@ -41,7 +41,11 @@ export default function AppointmentsPage() {
           <div key={a.id} className="list-item">
             <div>
               <strong>Randevu #{a.id}</strong>
-              <span className="sub">Event #{a.eventId}</span>
+              <span className="sub">
+                {a.eventStartTime
+                  ? `${new Date(a.eventStartTime).toLocaleString()} - ${new Date(a.eventEndTime).toLocaleTimeString()}`
+                  : `Event #${a.eventId}`}
+              </span>
               <span className={`badge ${a.status === "BOOKED" ? "badge-green" : a.status === "CANCELLED" ? "badge-red" : ""}`}>
                 {a.status}
               </span>
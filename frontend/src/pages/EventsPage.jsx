@@ -7,6 +7,7 @@ export default function EventsPage() {
   const { user } = useAuth();
   const navigate = useNavigate();
   const [events, setEvents] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [form, setForm] = useState({ startTime: "", endTime: "", isPublic: true, description: "" });
   const [searchName, setSearchName] = useState("");
   const [activeTab, setActiveTab] = useState("public");
@@ -15,14 +16,27 @@ export default function EventsPage() {
 
   const loadPublicEvents = async () => {
     try {
-      const data = await getPublicEvents();
-      setEvents(data);
+      const page = await getPublicEvents();
+      setEvents(page.items);
+      setNextCursor(page.nextCursor);
     } catch {
       setEvents([]);
+      setNextCursor(null);
+    }
+  };
+
+  const loadMorePublicEvents = async () => {
+    try {
+      const page = await getPublicEvents(nextCursor);
+      setEvents((prev) => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      setError(err.message);
     }
   };
 
   const loadUserEvents = async (userId) => {
+    setNextCursor(null);
     try {
       const data = await getEventsByUser(userId);
       setEvents(data);
@@ -281,6 +295,10 @@ export default function EventsPage() {
           </div>
         ))}
       </div>
+
+      {activeTab === "public" && nextCursor && (
+        <button className="btn-small" onClick={loadMorePublicEvents}>Daha Fazla Yukle</button>
+      )}
     </div>
   );
 }
@@ -0,0 +1,77 @@
+package com.example.internal_identity;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+
+// The api-gateway's IdentityAssertion scheme: "<epochSeconds>.<base64url HMAC-SHA256(subject.epochSeconds)>".
+// Verified with one local HMAC instead of a round trip to user-service.
+public class IdentityAssertions {
+
+    // HMAC-SHA256 key length
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final Mac prototype;
+    private final long maxAgeSeconds;
+
+    public IdentityAssertions(String secret, Duration maxAge) {
+        if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("internal.identity.secret must be set to at least "
+                    + MIN_SECRET_BYTES + " bytes");
+        }
+        try {
+            this.prototype = Mac.getInstance("HmacSHA256");
+            this.prototype.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        this.maxAgeSeconds = maxAge.toSeconds();
+    }
+
+    public String sign(String subject) {
+        long issuedAt = System.currentTimeMillis() / 1000;
+        return issuedAt + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(mac(subject, issuedAt));
+    }
+
+    public boolean verify(String subject, String assertion) {
+        if (subject == null || assertion == null) {
+            return false;
+        }
+        int dot = assertion.indexOf('.');
+        if (dot <= 0) {
+            return false;
+        }
+
+        long issuedAt;
+        byte[] signature;
+        try {
+            issuedAt = Long.parseLong(assertion.substring(0, dot));
+            signature = Base64.getUrlDecoder().decode(assertion.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        // Both directions: gateway and service clocks are only roughly in sync
+        if (Math.abs(System.currentTimeMillis() / 1000 - issuedAt) > maxAgeSeconds) {
+            return false;
+        }
+
+        return MessageDigest.isEqual(mac(subject, issuedAt), signature);
+    }
+
+    private byte[] mac(String subject, long issuedAt) {
+        return newMac().doFinal((subject + "." + issuedAt).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Cloning an initialised Mac skips the provider lookup and key setup; Mac itself is not thread-safe
+    private Mac newMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.internal_identity;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Collection;
+
+// Every outgoing call carries the internal credential, so the callee's TrustedIdentityFilter lets
+// it in. Calls that act as the current user (UserClient.getFriendIds) also get the gateway's
+// assertion forwarded when it is for the same user.
+public class IdentityForwardingInterceptor implements RequestInterceptor {
+
+    private final IdentityAssertions assertions;
+
+    public IdentityForwardingInterceptor(IdentityAssertions assertions) {
+        this.assertions = assertions;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        template.header(TrustedIdentityFilter.INTERNAL_CREDENTIAL_HEADER,
+                assertions.sign(TrustedIdentityFilter.INTERNAL_SUBJECT));
+
+        Collection<String> outgoing = template.headers().get(TrustedIdentityFilter.USER_ID_HEADER);
+        if (outgoing == null || outgoing.isEmpty()
+                || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+
+        HttpServletRequest incoming = attributes.getRequest();
+        String assertion = incoming.getHeader(TrustedIdentityFilter.ASSERTION_HEADER);
+        if (assertion != null && outgoing.contains(incoming.getHeader(TrustedIdentityFilter.USER_ID_HEADER))) {
+            template.header(TrustedIdentityFilter.ASSERTION_HEADER, assertion);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.internal_identity;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Picked up by every service that has this module on its classpath
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class InternalIdentityAutoConfiguration {
+
+    // No default secret: a service deployed without it must fail at startup
+    @Bean
+    public IdentityAssertions identityAssertions(
+            @Value("${internal.identity.secret}") String secret,
+            @Value("${internal.identity.max-age:60s}") Duration maxAge
+    ) {
+        return new IdentityAssertions(secret, maxAge);
+    }
+
+    @Bean
+    public UserTombstones userTombstones(ObjectProvider<TombstoneSource> source) {
+        return new UserTombstones(source.getIfUnique());
+    }
+
+    @Bean
+    public TrustedIdentityFilter trustedIdentityFilter(
+            IdentityAssertions identityAssertions,
+            UserTombstones userTombstones,
+            @Value("${internal.identity.enforce:true}") boolean enforce
+    ) {
+        return new TrustedIdentityFilter(identityAssertions, userTombstones, enforce);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "feign.RequestInterceptor")
+    static class FeignConfiguration {
+
+        @Bean
+        public IdentityForwardingInterceptor identityForwardingInterceptor(IdentityAssertions identityAssertions) {
+            return new IdentityForwardingInterceptor(identityAssertions);
+        }
+    }
+}
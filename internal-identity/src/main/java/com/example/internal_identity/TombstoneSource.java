@@ -0,0 +1,11 @@
+package com.example.internal_identity;
+
+import org.springframework.web.bind.annotation.GetMapping;
+
+// Served by user-service; a service's Feign UserClient extends this to feed UserTombstones
+public interface TombstoneSource {
+
+    // Ids of deleted accounts
+    @GetMapping("/internal/tombstones")
+    long[] getTombstones();
+}
@@ -0,0 +1,68 @@
+package com.example.internal_identity;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Every request must prove where it came from: a user request carries the gateway's signature
+// over X-User-Id, anything else (an anonymous call through the gateway, a service-to-service
+// call) an internal credential signed with the same secret. A token outlives an account
+// deletion by up to its exp, so deleted users are refused here too.
+public class TrustedIdentityFilter extends OncePerRequestFilter {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String ASSERTION_HEADER = "X-User-Assertion";
+    public static final String INTERNAL_CREDENTIAL_HEADER = "X-Internal-Credential";
+    // Subject of the internal credential; user ids are numeric, so it can't pass for one
+    public static final String INTERNAL_SUBJECT = "internal";
+
+    private final IdentityAssertions assertions;
+    private final UserTombstones userTombstones;
+    private final boolean enforce;
+
+    public TrustedIdentityFilter(IdentityAssertions assertions, UserTombstones userTombstones, boolean enforce) {
+        this.assertions = assertions;
+        this.userTombstones = userTombstones;
+        this.enforce = enforce;
+    }
+
+    // Liveness probes carry no credentials and learn nothing beyond "up"
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator/health");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String userId = request.getHeader(USER_ID_HEADER);
+
+        if (enforce && !isInternal(request) && !assertions.verify(userId, request.getHeader(ASSERTION_HEADER))) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Untrusted caller");
+            return;
+        }
+
+        if (userId != null && isDeletedUser(userId)) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "User no longer exists");
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    private boolean isInternal(HttpServletRequest request) {
+        return assertions.verify(INTERNAL_SUBJECT, request.getHeader(INTERNAL_CREDENTIAL_HEADER));
+    }
+
+    private boolean isDeletedUser(String userId) {
+        try {
+            return userTombstones.isDeleted(Long.parseLong(userId));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.internal_identity;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Arrays;
+
+// Ids of deleted accounts, mirrored from user-service as a sorted array. Replaces the per-request
+// "does this user exist" lookup: only a deletion can make a gateway-verified user id invalid.
+// Without a TombstoneSource (user-service itself) nothing is ever reported deleted.
+public class UserTombstones {
+
+    private static final Logger log = LoggerFactory.getLogger(UserTombstones.class);
+
+    private final TombstoneSource source;
+
+    private volatile long[] deleted = new long[0];
+
+    public UserTombstones(TombstoneSource source) {
+        this.source = source;
+    }
+
+    public boolean isDeleted(long userId) {
+        return Arrays.binarySearch(deleted, userId) >= 0;
+    }
+
+    // On failure the previous list stays; deletions also revoke the user's tokens at the gateway
+    @Scheduled(fixedDelayString = "${user-tombstones.sync-interval:30s}")
+    public void sync() {
+        if (source == null) {
+            return;
+        }
+        try {
+            long[] ids = source.getTombstones();
+            if (ids != null) {
+                long[] sorted = ids.clone();
+                Arrays.sort(sorted);
+                deleted = sorted;
+            }
+        } catch (RuntimeException e) {
+            log.warn("User tombstone sync failed, keeping {} known deletions: {}", deleted.length, e.toString());
+        }
+    }
+}
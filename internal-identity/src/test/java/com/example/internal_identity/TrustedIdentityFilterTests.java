@@ -0,0 +1,145 @@
+package com.example.internal_identity;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TrustedIdentityFilterTests {
+
+    private static final String SECRET = "testInternalIdentityKeyThatIsAtLeast32BytesLong";
+
+    private final UserTombstones userTombstones = mock(UserTombstones.class);
+    private final TrustedIdentityFilter filter =
+            new TrustedIdentityFilter(new IdentityAssertions(SECRET, Duration.ofSeconds(60)), userTombstones, true);
+
+    @Test
+    void validAssertionPasses() throws Exception {
+        MockFilterChain chain = run("42", sign(SECRET, "42", now()));
+
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void forgedAssertionIsRejected() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = run("42", sign("someOtherKeyThatIsAlsoAtLeast32BytesLong", "42", now()), response);
+
+        assertNull(chain.getRequest());
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, response.getStatus());
+    }
+
+    @Test
+    void staleAssertionIsRejected() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = run("42", sign(SECRET, "42", now() - 120), response);
+
+        assertNull(chain.getRequest());
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, response.getStatus());
+    }
+
+    @Test
+    void deletedUserIsRejected() throws Exception {
+        when(userTombstones.isDeleted(42L)).thenReturn(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = run("42", sign(SECRET, "42", now()), response);
+
+        assertNull(chain.getRequest());
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, response.getStatus());
+    }
+
+    @Test
+    void requestWithoutIdentityOrCredentialIsRejected() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = run(request(null, null), response);
+
+        assertNull(chain.getRequest());
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, response.getStatus());
+    }
+
+    @Test
+    void internalCredentialPasses() throws Exception {
+        MockHttpServletRequest request = request(null, null);
+        request.addHeader(TrustedIdentityFilter.INTERNAL_CREDENTIAL_HEADER,
+                sign(SECRET, TrustedIdentityFilter.INTERNAL_SUBJECT, now()));
+        MockFilterChain chain = run(request, new MockHttpServletResponse());
+
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void forgedInternalCredentialIsRejected() throws Exception {
+        MockHttpServletRequest request = request(null, null);
+        request.addHeader(TrustedIdentityFilter.INTERNAL_CREDENTIAL_HEADER,
+                sign("someOtherKeyThatIsAlsoAtLeast32BytesLong", TrustedIdentityFilter.INTERNAL_SUBJECT, now()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = run(request, response);
+
+        assertNull(chain.getRequest());
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, response.getStatus());
+    }
+
+    @Test
+    void healthCheckNeedsNoCredential() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+        MockFilterChain chain = run(request, new MockHttpServletResponse());
+
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void missingSecretFailsFast() {
+        assertThrows(IllegalStateException.class, () -> new IdentityAssertions("", Duration.ofSeconds(60)));
+    }
+
+    private MockFilterChain run(String userId, String assertion) throws Exception {
+        return run(userId, assertion, new MockHttpServletResponse());
+    }
+
+    private MockFilterChain run(String userId, String assertion, MockHttpServletResponse response) throws Exception {
+        return run(request(userId, assertion), response);
+    }
+
+    private MockFilterChain run(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        return chain;
+    }
+
+    private static MockHttpServletRequest request(String userId, String assertion) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/events");
+        if (userId != null) {
+            request.addHeader(TrustedIdentityFilter.USER_ID_HEADER, userId);
+        }
+        if (assertion != null) {
+            request.addHeader(TrustedIdentityFilter.ASSERTION_HEADER, assertion);
+        }
+        return request;
+    }
+
+    // Same scheme as the gateway's IdentityAssertion: <epochSec>.<base64url HMAC(subject.epochSec)>
+    private static String sign(String secret, String subject, long issuedAt) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] signature = mac.doFinal((subject + "." + issuedAt).getBytes(StandardCharsets.UTF_8));
+        return issuedAt + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
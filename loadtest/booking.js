@@ -0,0 +1,75 @@
+// k6 load test for the booking path (gateway -> appointment-service -> user/event-service).
+// Run once with VIRTUAL_THREADS=false and once with VIRTUAL_THREADS=true and compare
+// http_reqs (throughput) and http_req_duration p(99) at the same VU count.
+//
+//   k6 run -e BASE=http://localhost:8080 -e VUS=800 loadtest/booking.js
+import http from "k6/http";
+import { check } from "k6";
+import exec from "k6/execution";
+
+const BASE = __ENV.BASE || "http://localhost:8080";
+const VUS = Number(__ENV.VUS || 800);
+const JSON_HEADERS = { "Content-Type": "application/json" };
+
+export const options = {
+  scenarios: {
+    booking: {
+      executor: "constant-vus",
+      vus: VUS,
+      duration: __ENV.DURATION || "60s",
+    },
+  },
+  thresholds: {
+    http_req_failed: ["rate<0.01"],
+  },
+  summaryTrendStats: ["avg", "med", "p(95)", "p(99)", "max"],
+};
+
+function register(tag) {
+  const email = `${tag}-${Date.now()}-${Math.random().toString(36).slice(2)}@load.test`;
+  const res = http.post(
+    `${BASE}/auth/register`,
+    JSON.stringify({ name: tag, email, password: "loadtest" }),
+    { headers: JSON_HEADERS }
+  );
+  return res.json("token");
+}
+
+function auth(token) {
+  return { headers: { ...JSON_HEADERS, Authorization: `Bearer ${token}` } };
+}
+
+export function setup() {
+  const hostToken = register("host");
+  const start = new Date(Date.now() + 7 * 24 * 3600 * 1000).toISOString().slice(0, 10);
+  const end = new Date(Date.now() + 400 * 24 * 3600 * 1000).toISOString().slice(0, 10);
+  const slots = http.post(
+    `${BASE}/events/bulk`,
+    JSON.stringify({
+      startDate: start,
+      endDate: end,
+      daysOfWeek: ["MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY"],
+      dayStart: "08:00",
+      dayEnd: "20:00",
+      slotMinutes: 10,
+    }),
+    auth(hostToken)
+  );
+  const eventIds = slots.json().map((e) => e.id);
+
+  const bookerTokens = [];
+  for (let i = 0; i < Math.min(VUS, 200); i++) {
+    bookerTokens.push(register(`booker${i}`));
+  }
+  return { eventIds, bookerTokens };
+}
+
+export default function (data) {
+  const n = exec.scenario.iterationInTest;
+  const eventId = data.eventIds[n % data.eventIds.length];
+  const token = data.bookerTokens[n % data.bookerTokens.length];
+
+  const res = http.post(`${BASE}/appointments`, JSON.stringify({ eventId }), auth(token));
+  // Booking is asynchronous: conflicts surface later as FAILED appointments, not as 409s here
+  check(res, { accepted: (r) => r.status === 202 });
+}
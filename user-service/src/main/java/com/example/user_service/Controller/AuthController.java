@@ -2,6 +2,7 @@ package com.example.user_service.Controller;
 
 import com.example.user_service.Dto.AuthResponse;
 import com.example.user_service.Dto.LoginRequest;
+import com.example.user_service.Dto.RefreshRequest;
 import com.example.user_service.Dto.UserCreate;
 import com.example.user_service.Service.AuthService;
 import jakarta.validation.Valid;
@@ -28,4 +29,15 @@ public class AuthController {
     public AuthResponse login(@Valid @RequestBody LoginRequest request) {
         return authService.login(request);
     }
+
+    @PostMapping("/refresh")
+    public AuthResponse refresh(@Valid @RequestBody RefreshRequest request) {
+        return authService.refresh(request.getRefreshToken());
+    }
+
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(@Valid @RequestBody RefreshRequest request) {
+        authService.logout(request.getRefreshToken());
+    }
 }
@@ -1,9 +1,13 @@
 package com.example.user_service.Controller;
 
+import com.example.user_service.Dto.FriendSuggestion;
 import com.example.user_service.Dto.FriendshipResponse;
+import com.example.user_service.Dto.UserResponse;
+import com.example.user_service.Service.FriendSuggestionService;
 import com.example.user_service.Service.FriendshipService;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -12,9 +16,12 @@ import java.util.List;
 public class FriendshipController {
 
     private final FriendshipService friendshipService;
+    private final FriendSuggestionService suggestionService;
 
-    public FriendshipController(FriendshipService friendshipService) {
+    public FriendshipController(FriendshipService friendshipService,
+                                FriendSuggestionService suggestionService) {
         this.friendshipService = friendshipService;
+        this.suggestionService = suggestionService;
     }
 
     @PostMapping("/request/{addresseeId}")
@@ -41,10 +48,34 @@ public class FriendshipController {
 
     @GetMapping
     public List<FriendshipResponse> getMyFriends(
-            @RequestHeader("X-User-Id") Long userId) {
+            @RequestHeader("X-User-Id") Long userId,
+            WebRequest request) {
+        if (request.checkNotModified(friendshipService.myFriendsEtag(userId))) {
+            return null;
+        }
         return friendshipService.getMyFriends(userId);
     }
 
+    @GetMapping("/ids")
+    public long[] getMyFriendIds(
+            @RequestHeader("X-User-Id") Long userId) {
+        return friendshipService.getFriendIds(userId);
+    }
+
+    @GetMapping("/suggestions")
+    public List<FriendSuggestion> getSuggestions(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam(required = false) Integer limit) {
+        return suggestionService.getSuggestions(userId, limit);
+    }
+
+    @GetMapping("/mutual/{otherUserId}")
+    public List<UserResponse> getMutualFriends(
+            @RequestHeader("X-User-Id") Long userId,
+            @PathVariable Long otherUserId) {
+        return suggestionService.getMutualFriends(userId, otherUserId);
+    }
+
     @GetMapping("/pending")
     public List<FriendshipResponse> getPendingRequests(
             @RequestHeader("X-User-Id") Long userId) {
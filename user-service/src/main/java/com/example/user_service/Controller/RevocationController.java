@@ -0,0 +1,23 @@
+package com.example.user_service.Controller;
+
+import com.example.user_service.Service.TokenService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Not routed by the gateway; the gateway itself polls it to rebuild its revocation filter
+@RestController
+@RequestMapping("/internal/revocations")
+public class RevocationController {
+
+    private final TokenService tokenService;
+
+    public RevocationController(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @GetMapping
+    public List<String> getActiveRevocations() {
+        return tokenService.getActiveRevocations();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.user_service.Controller;
+
+import com.example.user_service.Service.AccountService;
+import org.springframework.web.bind.annotation.*;
+
+// Not routed by the gateway; event- and appointment-service poll it (UserTombstones)
+@RestController
+@RequestMapping("/internal/tombstones")
+public class TombstoneController {
+
+    private final AccountService accountService;
+
+    public TombstoneController(AccountService accountService) {
+        this.accountService = accountService;
+    }
+
+    @GetMapping
+    public long[] getTombstones() {
+        return accountService.getDeletedUserIds();
+    }
+}
@@ -1,19 +1,27 @@
 package com.example.user_service.Controller;
 
+import com.example.user_service.Dto.CanViewBatchRequest;
 import com.example.user_service.Dto.ProfileUpdateRequest;
 import com.example.user_service.Dto.UserResponse;
+import com.example.user_service.Service.AccountService;
 import com.example.user_service.Service.UserService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/users")
 public class UserController {
     private final UserService userService;
+    private final AccountService accountService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, AccountService accountService) {
         this.userService = userService;
+        this.accountService = accountService;
     }
 
     @GetMapping
@@ -21,9 +29,24 @@ public class UserController {
         return userService.getAll();
     }
 
+    @GetMapping(params = "ids")
+    public List<UserResponse> getByIds(@RequestParam List<Long> ids) {
+        return new ArrayList<>(userService.getByIds(ids).values());
+    }
+
     @GetMapping("/search")
-    public List<UserResponse> searchByName(@RequestParam String name) {
-        return userService.searchByName(name);
+    public List<UserResponse> searchByName(
+            @RequestParam String name,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        return userService.searchByName(name, page, size);
+    }
+
+    @GetMapping("/search/autocomplete")
+    public List<UserResponse> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer size) {
+        return userService.autocomplete(prefix, size);
     }
 
     @GetMapping("/{id}")
@@ -41,6 +64,17 @@ public class UserController {
         return userService.updateProfile(userId, request);
     }
 
+    @DeleteMapping("/me")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteMyAccount(@RequestHeader("X-User-Id") Long userId) {
+        accountService.deleteAccount(userId);
+    }
+
+    @PostMapping("/can-view/batch")
+    public Map<Long, Boolean> canViewBatch(@Valid @RequestBody CanViewBatchRequest request) {
+        return userService.canViewUsers(request.getViewerId(), request.getOwnerIds());
+    }
+
     @GetMapping("/{id}/can-view")
     public boolean canView(@PathVariable Long id, @RequestParam Long viewerId) {
         return userService.canViewUser(id, viewerId);
@@ -2,15 +2,19 @@ package com.example.user_service.Dto;
 
 public class AuthResponse {
     private String token;
+    private String refreshToken;
     private UserResponse user;
 
-    public AuthResponse(String token, UserResponse user) {
+    public AuthResponse(String token, String refreshToken, UserResponse user) {
         this.token = token;
+        this.refreshToken = refreshToken;
         this.user = user;
     }
 
     public String getToken() { return token; }
     public void setToken(String token) { this.token = token; }
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
     public UserResponse getUser() { return user; }
     public void setUser(UserResponse user) { this.user = user; }
 }
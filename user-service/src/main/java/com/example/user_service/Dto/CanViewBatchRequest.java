@@ -0,0 +1,31 @@
+package com.example.user_service.Dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class CanViewBatchRequest {
+    @NotNull
+    private Long viewerId;
+
+    @NotNull
+    @Size(max = 1000)
+    private List<Long> ownerIds;
+
+    public Long getViewerId() {
+        return viewerId;
+    }
+
+    public void setViewerId(Long viewerId) {
+        this.viewerId = viewerId;
+    }
+
+    public List<Long> getOwnerIds() {
+        return ownerIds;
+    }
+
+    public void setOwnerIds(List<Long> ownerIds) {
+        this.ownerIds = ownerIds;
+    }
+}
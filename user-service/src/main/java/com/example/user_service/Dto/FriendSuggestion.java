@@ -0,0 +1,22 @@
+package com.example.user_service.Dto;
+
+public class FriendSuggestion {
+    private UserResponse user;
+    private int mutualFriends;
+
+    public UserResponse getUser() {
+        return user;
+    }
+
+    public void setUser(UserResponse user) {
+        this.user = user;
+    }
+
+    public int getMutualFriends() {
+        return mutualFriends;
+    }
+
+    public void setMutualFriends(int mutualFriends) {
+        this.mutualFriends = mutualFriends;
+    }
+}
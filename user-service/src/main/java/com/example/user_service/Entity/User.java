@@ -29,9 +29,18 @@ public class User {
 
     private LocalDateTime createdAt;
 
+    // Change marker for list ETags (see FriendshipStamp)
+    private LocalDateTime updatedAt;
+
     @PrePersist
     public void onCreate() {
         this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    @PreUpdate
+    public void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
     }
 
 
@@ -101,4 +110,8 @@ public class User {
     public void setPublic(boolean isPublic) {
         this.isPublic = isPublic;
     }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
 }
@@ -2,7 +2,9 @@ package com.example.user_service.Exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestControllerAdvice
@@ -35,6 +37,20 @@ public class GlobalExceptionHandler {
         return ex.getMessage();
     }
 
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    @ResponseStatus(HttpStatus.UNAUTHORIZED)
+    public String handle(InvalidRefreshTokenException ex) {
+        return ex.getMessage();
+    }
+
+    // Password hashing queue is full (PasswordHasher)
+    @ExceptionHandler(HashingOverloadedException.class)
+    public ResponseEntity<String> handle(HashingOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
     @ExceptionHandler(FriendshipNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public String handle(FriendshipNotFoundException ex) {
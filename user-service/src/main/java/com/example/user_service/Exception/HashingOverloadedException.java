@@ -0,0 +1,7 @@
+package com.example.user_service.Exception;
+
+public class HashingOverloadedException extends RuntimeException {
+    public HashingOverloadedException() {
+        super("Too many sign-in requests, please try again shortly");
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.user_service.Exception;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException() {
+        super("Invalid or expired refresh token");
+    }
+}
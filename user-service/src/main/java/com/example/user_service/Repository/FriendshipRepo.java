@@ -2,12 +2,18 @@ package com.example.user_service.Repository;
 
 import com.example.user_service.Entity.Friendship;
 import com.example.user_service.Entity.FriendshipStatus;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface FriendshipRepo extends JpaRepository<Friendship, Long> {
 
@@ -17,9 +23,23 @@ public interface FriendshipRepo extends JpaRepository<Friendship, Long> {
            " (f.requesterId = :userId2 AND f.addresseeId = :userId1))")
     boolean areFriends(@Param("userId1") Long userId1, @Param("userId2") Long userId2);
 
-    @Query("SELECT f FROM Friendship f WHERE f.status = 'ACCEPTED' AND " +
-           "(f.requesterId = :userId OR f.addresseeId = :userId)")
-    List<Friendship> findAcceptedFriendships(@Param("userId") Long userId);
+    // Joins the users too: the list embeds their profiles
+    @Query("SELECT COUNT(f) AS count, MAX(f.id) AS maxId, MAX(f.updatedAt) AS lastUpdated, " +
+           "MAX(u.updatedAt) AS usersLastUpdated FROM Friendship f, User u " +
+           "WHERE f.status = 'ACCEPTED' AND (f.requesterId = :userId OR f.addresseeId = :userId) " +
+           "AND (u.id = f.requesterId OR u.id = f.addresseeId)")
+    FriendshipStamp stampAcceptedFriendships(@Param("userId") Long userId);
+
+    // Startup / periodic load of FriendGraph
+    @Query("SELECT f.requesterId, f.addresseeId FROM Friendship f WHERE f.status = 'ACCEPTED'")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Object[]> streamAcceptedPairs();
+
+    @Query("SELECT f FROM Friendship f WHERE f.requesterId = :userId OR f.addresseeId = :userId")
+    List<Friendship> findAllInvolving(@Param("userId") Long userId);
 
     List<Friendship> findByAddresseeIdAndStatus(Long addresseeId, FriendshipStatus status);
 
@@ -0,0 +1,16 @@
+package com.example.user_service.Repository;
+
+import java.time.LocalDateTime;
+
+// Cheap change marker for a user's friend list: inserts/deletes move count and max id,
+// status and profile edits move the updated-at maxima
+public interface FriendshipStamp {
+
+    Long getCount();
+
+    Long getMaxId();
+
+    LocalDateTime getLastUpdated();
+
+    LocalDateTime getUsersLastUpdated();
+}
@@ -1,6 +1,8 @@
 package com.example.user_service.Repository;
 import com.example.user_service.Entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -8,5 +10,25 @@ import java.util.Optional;
 public interface UserRepo extends JpaRepository<User,Long>{
     Optional<User> findByEmail(String email);
     User findByName(String name);
-    List<User> findByNameContainingIgnoreCase(String name);
+
+    // :query is lower-cased and LIKE-escaped by the caller. Both predicates are served by the
+    // idx_users_name_trgm GIN index; prefix hits rank first, then trigram similarity.
+    @Query(value = "SELECT * FROM users WHERE lower(name) LIKE '%' || :query || '%' " +
+                   "OR lower(name) % :query " +
+                   "ORDER BY (lower(name) LIKE :query || '%') DESC, " +
+                   "similarity(lower(name), :query) DESC, name, id " +
+                   "LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<User> searchByName(@Param("query") String query,
+                            @Param("limit") int limit,
+                            @Param("offset") long offset);
+
+    // Range scan on idx_users_name_prefix: [prefix, upper) in byte order, already sorted
+    @Query(value = "SELECT * FROM users WHERE lower(name) ~>=~ :prefix AND lower(name) ~<~ :upper " +
+                   "ORDER BY lower(name) USING ~<~, id LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<User> findByNamePrefix(@Param("prefix") String prefix,
+                                @Param("upper") String upper,
+                                @Param("limit") int limit,
+                                @Param("offset") long offset);
 }
@@ -0,0 +1,13 @@
+package com.example.user_service.Repository;
+
+import com.example.user_service.Entity.UserTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface UserTombstoneRepo extends JpaRepository<UserTombstone, Long> {
+
+    @Query("SELECT t.userId FROM UserTombstone t ORDER BY t.userId")
+    List<Long> findAllUserIds();
+}
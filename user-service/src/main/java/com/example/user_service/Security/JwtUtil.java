@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
 
 @Component
@@ -23,11 +24,13 @@ public class JwtUtil {
         this.expiration = expiration;
     }
 
-    public String generateToken(Long userId, String email, String name) {
+    // tokenId becomes the jti claim, the key the gateway's revocation filter checks
+    public String generateToken(Long userId, String email, String name, String tokenId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
         return Jwts.builder()
+                .id(tokenId)
                 .subject(String.valueOf(userId))
                 .claim("email", email)
                 .claim("name", name)
@@ -36,4 +39,8 @@ public class JwtUtil {
                 .signWith(key)
                 .compact();
     }
+
+    public Duration getAccessTokenTtl() {
+        return Duration.ofMillis(expiration);
+    }
 }
@@ -0,0 +1,159 @@
+package com.example.user_service.Security;
+
+import com.example.user_service.Exception.HashingOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// BCrypt off the request threads: a fixed pool caps the cores hashing can take, and a bounded
+// queue turns a login burst into fast 503s instead of a starved service.
+@Component
+public class PasswordHasher {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private static final int CALIBRATION_STRENGTH = 10;
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private final BCryptPasswordEncoder encoder;
+    private final int strength;
+    private final ExecutorService executor;
+
+    public PasswordHasher(
+            MeterRegistry meterRegistry,
+            @Value("${password-hashing.threads:0}") int threads,
+            @Value("${password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${password-hashing.target-time:250ms}") Duration targetTime,
+            @Value("${password-hashing.min-strength:10}") int minStrength,
+            @Value("${password-hashing.max-strength:14}") int maxStrength
+    ) {
+        this.strength = calibrate(targetTime, minStrength, maxStrength);
+        this.encoder = new BCryptPasswordEncoder(strength);
+
+        // Default: half the cores, so the rest of the API keeps running during a login storm
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password.hashing");
+    }
+
+    public String hash(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    // One pool slot for the check and, when the stored cost is below the current one, the rehash.
+    // Never downgrade: a lower calibrated cost on another node must not churn stronger hashes
+    public Verification verify(String rawPassword, String storedHash) {
+        return submit(() -> {
+            if (!encoder.matches(rawPassword, storedHash)) {
+                return new Verification(false, null);
+            }
+            String upgraded = costOf(storedHash) < strength ? encoder.encode(rawPassword) : null;
+            return new Verification(true, upgraded);
+        });
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new HashingOverloadedException();
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Each +1 doubles BCrypt's work: time the minimum cost once and extrapolate
+    private static int calibrate(Duration target, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(CALIBRATION_STRENGTH);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        int chosen = minStrength;
+        long estimate = best << Math.max(0, minStrength - CALIBRATION_STRENGTH);
+        while (chosen < maxStrength && estimate * 2 <= target.toNanos()) {
+            chosen++;
+            estimate *= 2;
+        }
+        log.info("BCrypt cost {} (~{} ms per hash, target {} ms)",
+                chosen, TimeUnit.NANOSECONDS.toMillis(estimate), target.toMillis());
+        return chosen;
+    }
+
+    // "$2a$10$..." -> 10; anything unparseable counts as outdated
+    private static int costOf(String hash) {
+        try {
+            return Integer.parseInt(hash.substring(4, 6));
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    public static final class Verification {
+        private final boolean matches;
+        private final String upgradedHash;
+
+        private Verification(boolean matches, String upgradedHash) {
+            this.matches = matches;
+            this.upgradedHash = upgradedHash;
+        }
+
+        public boolean matches() {
+            return matches;
+        }
+
+        // Non-null when the password should be stored again at the current cost
+        public String getUpgradedHash() {
+            return upgradedHash;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.user_service.Service;
+
+import com.example.user_service.Entity.Friendship;
+import com.example.user_service.Entity.FriendshipStatus;
+import com.example.user_service.Entity.User;
+import com.example.user_service.Entity.UserTombstone;
+import com.example.user_service.Exception.UserNotFoundException;
+import com.example.user_service.Repository.FriendshipRepo;
+import com.example.user_service.Repository.UserRepo;
+import com.example.user_service.Repository.UserTombstoneRepo;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Account deletion. Other services no longer look users up per request (they trust the
+// gateway-signed X-User-Id), so a deletion leaves a tombstone they mirror instead.
+@Service
+public class AccountService {
+
+    private final UserRepo userRepository;
+    private final FriendshipRepo friendshipRepository;
+    private final UserTombstoneRepo tombstoneRepository;
+    private final TokenService tokenService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AccountService(UserRepo userRepository, FriendshipRepo friendshipRepository,
+                          UserTombstoneRepo tombstoneRepository, TokenService tokenService,
+                          ApplicationEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.friendshipRepository = friendshipRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.tokenService = tokenService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public void deleteAccount(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+
+        List<Friendship> friendships = friendshipRepository.findAllInvolving(userId);
+        for (Friendship friendship : friendships) {
+            if (friendship.getStatus() == FriendshipStatus.ACCEPTED) {
+                eventPublisher.publishEvent(new FriendshipChangedEvent(
+                        friendship.getRequesterId(), friendship.getAddresseeId(), false));
+            }
+        }
+        friendshipRepository.deleteAll(friendships);
+
+        // Refresh tokens die with the account and the live access token lands in the gateway's filter
+        tokenService.revokeAllSessions(userId);
+        userRepository.delete(user);
+        tombstoneRepository.save(new UserTombstone(userId, LocalDateTime.now()));
+        // Drops cached canView decisions about this owner. Like the friendship events above it
+        // is only delivered once the delete commits (AFTER_COMMIT listeners)
+        eventPublisher.publishEvent(new ProfileVisibilityChangedEvent(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public long[] getDeletedUserIds() {
+        return tombstoneRepository.findAllUserIds().stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+}
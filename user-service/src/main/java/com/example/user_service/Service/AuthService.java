@@ -7,22 +7,23 @@ import com.example.user_service.Dto.UserResponse;
 import com.example.user_service.Entity.User;
 import com.example.user_service.Exception.EmailAlreadyExistsException;
 import com.example.user_service.Exception.InvalidCredentialsException;
+import com.example.user_service.Exception.InvalidRefreshTokenException;
 import com.example.user_service.Repository.UserRepo;
-import com.example.user_service.Security.JwtUtil;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.example.user_service.Security.PasswordHasher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AuthService {
 
     private final UserRepo userRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final JwtUtil jwtUtil;
+    private final PasswordHasher passwordHasher;
+    private final TokenService tokenService;
 
-    public AuthService(UserRepo userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+    public AuthService(UserRepo userRepository, PasswordHasher passwordHasher, TokenService tokenService) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
-        this.jwtUtil = jwtUtil;
+        this.passwordHasher = passwordHasher;
+        this.tokenService = tokenService;
     }
 
     public AuthResponse register(UserCreate request) {
@@ -32,24 +33,45 @@ public class AuthService {
         User user = new User();
         user.setName(request.getName());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHasher.hash(request.getPassword()));
 
         User saved = userRepository.save(user);
-        String token = jwtUtil.generateToken(saved.getId(), saved.getEmail(), saved.getName());
-
-        return new AuthResponse(token, mapToResponse(saved));
+        return issueTokens(saved);
     }
 
     public AuthResponse login(LoginRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(InvalidCredentialsException::new);
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        PasswordHasher.Verification verification = passwordHasher.verify(request.getPassword(), user.getPassword());
+        if (!verification.matches()) {
             throw new InvalidCredentialsException();
         }
+        // Stored with an older cost: upgrade transparently now that we have the plain password
+        if (verification.getUpgradedHash() != null) {
+            user.setPassword(verification.getUpgradedHash());
+            userRepository.save(user);
+        }
+
+        return issueTokens(user);
+    }
+
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public AuthResponse refresh(String refreshToken) {
+        Long userId = tokenService.consume(refreshToken).getUserId();
+        User user = userRepository.findById(userId)
+                .orElseThrow(InvalidRefreshTokenException::new);
+        // Claims are re-read from the user, so a renamed profile shows up in the new token
+        return issueTokens(user);
+    }
+
+    public void logout(String refreshToken) {
+        tokenService.logout(refreshToken);
+    }
 
-        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getName());
-        return new AuthResponse(token, mapToResponse(user));
+    private AuthResponse issueTokens(User user) {
+        TokenService.IssuedTokens tokens = tokenService.issue(user);
+        return new AuthResponse(tokens.getAccessToken(), tokens.getRefreshToken(), mapToResponse(user));
     }
 
     private UserResponse mapToResponse(User user) {
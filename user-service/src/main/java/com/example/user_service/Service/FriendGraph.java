@@ -0,0 +1,218 @@
+package com.example.user_service.Service;
+
+import com.example.user_service.Repository.FriendshipRepo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// Accepted friendships as userId -> sorted long[] of friend ids. Arrays are never mutated
+// once published (writers swap in a copy), so readers need no locking.
+@Component
+public class FriendGraph {
+
+    private static final long[] NONE = new long[0];
+
+    // Rough per-user overhead: map node + boxed key + array header
+    private static final long BYTES_PER_USER = 32 + 16 + 16;
+
+    private final FriendshipRepo friendshipRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile Map<Long, long[]> adjacency = new ConcurrentHashMap<>();
+
+    // Serializes writers and lets a rebuild replay changes that raced with its table scan
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private List<FriendshipChangedEvent> changesDuringRebuild;
+
+    public FriendGraph(FriendshipRepo friendshipRepository,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.friendshipRepository = friendshipRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        Gauge.builder("friend.graph.users", () -> adjacency.size())
+                .description("Users with at least one accepted friendship")
+                .register(meterRegistry);
+        Gauge.builder("friend.graph.edges", () -> adjacencyEntries() / 2)
+                .description("Accepted friendships held in memory")
+                .register(meterRegistry);
+        Gauge.builder("friend.graph.memory", this::estimatedBytes)
+                .description("Estimated heap used by the adjacency arrays")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean areFriends(Long userId1, Long userId2) {
+        return Arrays.binarySearch(friendsOf(userId1), userId2) >= 0;
+    }
+
+    // Shared, sorted and read-only: callers must not modify the returned array
+    public long[] friendsOf(Long userId) {
+        return adjacency.getOrDefault(userId, NONE);
+    }
+
+    @PostConstruct
+    @Scheduled(initialDelayString = "${friend-graph.rebuild-interval:10m}",
+               fixedDelayString = "${friend-graph.rebuild-interval:10m}")
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        Map<Long, long[]> rebuilt;
+        try {
+            rebuilt = readOnlyTransaction.execute(status -> load());
+        } catch (RuntimeException e) {
+            writeLock.lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                writeLock.unlock();
+            }
+            throw e;
+        }
+
+        writeLock.lock();
+        try {
+            for (FriendshipChangedEvent change : changesDuringRebuild) {
+                apply(rebuilt, change);
+            }
+            adjacency = rebuilt;
+            changesDuringRebuild = null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // After commit, so a rolled-back change never reaches the graph. Runs before the caches'
+    // listeners: a cache reload after their invalidation must already see the new edge.
+    // Fallback covers publishers that run without a transaction (FriendshipService).
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onFriendshipChanged(FriendshipChangedEvent event) {
+        writeLock.lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+            apply(adjacency, event);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Streams the table once, growing per-user buffers, then sorts each into its final array
+    private Map<Long, long[]> load() {
+        Map<Long, LongBuffer> buffers = new HashMap<>();
+        try (Stream<Object[]> pairs = friendshipRepository.streamAcceptedPairs()) {
+            pairs.forEach(pair -> {
+                long a = (Long) pair[0];
+                long b = (Long) pair[1];
+                buffers.computeIfAbsent(a, k -> new LongBuffer()).add(b);
+                buffers.computeIfAbsent(b, k -> new LongBuffer()).add(a);
+            });
+        }
+
+        Map<Long, long[]> rebuilt = new ConcurrentHashMap<>(Math.max(16, buffers.size() * 4 / 3));
+        buffers.forEach((userId, buffer) -> rebuilt.put(userId, buffer.toSortedDistinct()));
+        return rebuilt;
+    }
+
+    private static void apply(Map<Long, long[]> target, FriendshipChangedEvent event) {
+        long a = event.getUserId1();
+        long b = event.getUserId2();
+        if (event.isFriends()) {
+            target.put(a, insert(target.getOrDefault(a, NONE), b));
+            target.put(b, insert(target.getOrDefault(b, NONE), a));
+        } else {
+            remove(target, a, b);
+            remove(target, b, a);
+        }
+    }
+
+    private static long[] insert(long[] friends, long friendId) {
+        int at = Arrays.binarySearch(friends, friendId);
+        if (at >= 0) {
+            return friends;
+        }
+        int insertAt = -at - 1;
+        long[] copy = new long[friends.length + 1];
+        System.arraycopy(friends, 0, copy, 0, insertAt);
+        copy[insertAt] = friendId;
+        System.arraycopy(friends, insertAt, copy, insertAt + 1, friends.length - insertAt);
+        return copy;
+    }
+
+    private static void remove(Map<Long, long[]> target, long userId, long friendId) {
+        long[] friends = target.getOrDefault(userId, NONE);
+        int at = Arrays.binarySearch(friends, friendId);
+        if (at < 0) {
+            return;
+        }
+        if (friends.length == 1) {
+            target.remove(userId);
+            return;
+        }
+        long[] copy = new long[friends.length - 1];
+        System.arraycopy(friends, 0, copy, 0, at);
+        System.arraycopy(friends, at + 1, copy, at, friends.length - at - 1);
+        target.put(userId, copy);
+    }
+
+    private long adjacencyEntries() {
+        long entries = 0;
+        for (long[] friends : adjacency.values()) {
+            entries += friends.length;
+        }
+        return entries;
+    }
+
+    private double estimatedBytes() {
+        return adjacency.size() * BYTES_PER_USER + adjacencyEntries() * Long.BYTES;
+    }
+
+    private static final class LongBuffer {
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toSortedDistinct() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+        }
+    }
+}
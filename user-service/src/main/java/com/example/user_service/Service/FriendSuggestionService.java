@@ -0,0 +1,220 @@
+package com.example.user_service.Service;
+
+import com.example.user_service.Dto.FriendSuggestion;
+import com.example.user_service.Dto.UserResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+// "People you may know" and mutual friends, computed over FriendGraph's sorted arrays
+@Service
+public class FriendSuggestionService {
+
+    static final int MAX_SUGGESTIONS = 50;
+
+    private final FriendGraph friendGraph;
+    private final UserService userService;
+    private final int maxFanOut;
+    private final int maxFriendsPerHop;
+
+    // Ranked candidates only; profiles are resolved per request so edits show up immediately
+    private final Cache<Long, Ranked> suggestions;
+    private final InvalidationGenerations generations = new InvalidationGenerations();
+
+    public FriendSuggestionService(
+            FriendGraph friendGraph,
+            UserService userService,
+            MeterRegistry meterRegistry,
+            @Value("${friend-suggestions.max-fan-out:200}") int maxFanOut,
+            @Value("${friend-suggestions.max-friends-per-hop:500}") int maxFriendsPerHop,
+            @Value("${friend-suggestions.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${friend-suggestions.cache.ttl:10m}") Duration cacheTtl
+    ) {
+        this.friendGraph = friendGraph;
+        this.userService = userService;
+        this.maxFanOut = maxFanOut;
+        this.maxFriendsPerHop = maxFriendsPerHop;
+        this.suggestions = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, suggestions, "friend.suggestions");
+    }
+
+    public List<FriendSuggestion> getSuggestions(Long userId, Integer limit) {
+        int size = limit == null ? 20 : Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+
+        // Not get(key, fn), which would rank under the map lock; the generation check stops a
+        // ranking that raced with a friendship change from being written back
+        Ranked ranked = suggestions.getIfPresent(userId);
+        if (ranked == null) {
+            long generation = generations.current(userId);
+            ranked = rank(userId);
+            generations.putIfCurrent(suggestions, userId, ranked, userId, generation);
+        }
+
+        int count = Math.min(size, ranked.ids.length);
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(ranked.ids[i]);
+        }
+        Map<Long, UserResponse> users = userService.getByIds(ids);
+
+        List<FriendSuggestion> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UserResponse user = users.get(ranked.ids[i]);
+            if (user == null) continue;
+
+            FriendSuggestion suggestion = new FriendSuggestion();
+            suggestion.setUser(user);
+            suggestion.setMutualFriends(ranked.mutualCounts[i]);
+            result.add(suggestion);
+        }
+        return result;
+    }
+
+    public List<UserResponse> getMutualFriends(Long userId, Long otherUserId) {
+        long[] mutual = intersect(friendGraph.friendsOf(userId), friendGraph.friendsOf(otherUserId));
+
+        List<Long> ids = new ArrayList<>(mutual.length);
+        for (long id : mutual) {
+            ids.add(id);
+        }
+        Map<Long, UserResponse> users = userService.getByIds(ids);
+        return ids.stream()
+                .map(users::get)
+                .filter(user -> user != null)
+                .toList();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFriendshipChanged(FriendshipChangedEvent event) {
+        generations.bump(event.getUserId1());
+        generations.bump(event.getUserId2());
+        suggestions.invalidate(event.getUserId1());
+        suggestions.invalidate(event.getUserId2());
+    }
+
+    // Friends-of-friends are concatenated and sorted, so each candidate's run length is its
+    // mutual-friend count. Fan-out is capped on both hops so a hub user costs at most
+    // maxFanOut * maxFriendsPerHop entries; capped lists are sampled, not cut to a prefix.
+    private Ranked rank(Long userId) {
+        long[] friends = friendGraph.friendsOf(userId);
+        long[] hops = sample(friends, maxFanOut);
+
+        long[][] second = new long[hops.length][];
+        int total = 0;
+        for (int i = 0; i < hops.length; i++) {
+            second[i] = sample(friendGraph.friendsOf(hops[i]), maxFriendsPerHop);
+            total += second[i].length;
+        }
+
+        long[] candidates = new long[total];
+        int filled = 0;
+        for (long[] ids : second) {
+            System.arraycopy(ids, 0, candidates, filled, ids.length);
+            filled += ids.length;
+        }
+        Arrays.sort(candidates);
+
+        // Min-heap on (count, -id): the weakest of the current top MAX_SUGGESTIONS is evicted first
+        PriorityQueue<long[]> top = new PriorityQueue<>((a, b) ->
+                a[1] != b[1] ? Long.compare(a[1], b[1]) : Long.compare(b[0], a[0]));
+        for (int i = 0; i < candidates.length; ) {
+            long candidate = candidates[i];
+            int run = i;
+            while (run < candidates.length && candidates[run] == candidate) run++;
+
+            if (candidate != userId && Arrays.binarySearch(friends, candidate) < 0) {
+                top.add(new long[]{candidate, run - i});
+                if (top.size() > MAX_SUGGESTIONS) top.poll();
+            }
+            i = run;
+        }
+
+        int n = top.size();
+        long[] ids = new long[n];
+        int[] counts = new int[n];
+        for (int i = n - 1; i >= 0; i--) {
+            long[] entry = top.poll();
+            ids[i] = entry[0];
+            counts[i] = (int) entry[1];
+        }
+        return new Ranked(ids, counts);
+    }
+
+    // Evenly spaced picks from a random offset: O(n), and unlike a prefix of the sorted ids not
+    // skewed toward the oldest accounts. Returns the array itself when it is within the cap.
+    static long[] sample(long[] ids, int n) {
+        if (ids.length <= n) {
+            return ids;
+        }
+        double step = (double) ids.length / n;
+        double offset = ThreadLocalRandom.current().nextDouble(step);
+        long[] picked = new long[n];
+        for (int i = 0; i < n; i++) {
+            picked[i] = ids[(int) (offset + i * step)];
+        }
+        return picked;
+    }
+
+    // Linear merge when the sizes are close, binary search of the small side into the large one otherwise
+    static long[] intersect(long[] a, long[] b) {
+        if (a.length > b.length) {
+            long[] swap = a;
+            a = b;
+            b = swap;
+        }
+        long[] out = new long[a.length];
+        int n = 0;
+
+        if ((long) a.length * 32 < b.length) {
+            int from = 0;
+            for (long value : a) {
+                int at = Arrays.binarySearch(b, from, b.length, value);
+                if (at >= 0) {
+                    out[n++] = value;
+                    from = at + 1;
+                } else {
+                    from = -at - 1;
+                }
+            }
+        } else {
+            int i = 0, j = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) i++;
+                else if (a[i] > b[j]) j++;
+                else {
+                    out[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    private static final class Ranked {
+        private final long[] ids;
+        private final int[] mutualCounts;
+
+        private Ranked(long[] ids, int[] mutualCounts) {
+            this.ids = ids;
+            this.mutualCounts = mutualCounts;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.user_service.Service;
+
+// Published after an ACCEPTED friendship between two users is created or removed
+public class FriendshipChangedEvent {
+
+    private final Long userId1;
+    private final Long userId2;
+    private final boolean friends;
+
+    public FriendshipChangedEvent(Long userId1, Long userId2, boolean friends) {
+        this.userId1 = userId1;
+        this.userId2 = userId2;
+        this.friends = friends;
+    }
+
+    public Long getUserId1() {
+        return userId1;
+    }
+
+    public Long getUserId2() {
+        return userId2;
+    }
+
+    public boolean isFriends() {
+        return friends;
+    }
+}
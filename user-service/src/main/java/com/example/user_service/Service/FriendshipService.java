@@ -1,6 +1,7 @@
 package com.example.user_service.Service;
 
 import com.example.user_service.Dto.FriendshipResponse;
+import com.example.user_service.Dto.UserResponse;
 import com.example.user_service.Entity.Friendship;
 import com.example.user_service.Entity.FriendshipStatus;
 import com.example.user_service.Exception.FriendshipAlreadyExistsException;
@@ -8,11 +9,18 @@ import com.example.user_service.Exception.FriendshipException;
 import com.example.user_service.Exception.FriendshipNotFoundException;
 import com.example.user_service.Exception.UserNotFoundException;
 import com.example.user_service.Repository.FriendshipRepo;
+import com.example.user_service.Repository.FriendshipStamp;
 import com.example.user_service.Repository.UserRepo;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,11 +29,17 @@ public class FriendshipService {
     private final FriendshipRepo friendshipRepository;
     private final UserRepo userRepository;
     private final UserService userService;
+    private final FriendGraph friendGraph;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public FriendshipService(FriendshipRepo friendshipRepository, UserRepo userRepository, UserService userService) {
+    public FriendshipService(FriendshipRepo friendshipRepository, UserRepo userRepository,
+                             UserService userService, FriendGraph friendGraph,
+                             ApplicationEventPublisher eventPublisher) {
         this.friendshipRepository = friendshipRepository;
         this.userRepository = userRepository;
         this.userService = userService;
+        this.friendGraph = friendGraph;
+        this.eventPublisher = eventPublisher;
     }
 
     public FriendshipResponse sendRequest(Long requesterId, Long addresseeId) {
@@ -64,6 +78,8 @@ public class FriendshipService {
 
         friendship.setStatus(FriendshipStatus.ACCEPTED);
         Friendship updated = friendshipRepository.save(friendship);
+        eventPublisher.publishEvent(new FriendshipChangedEvent(
+                updated.getRequesterId(), updated.getAddresseeId(), true));
         return mapToResponse(updated);
     }
 
@@ -84,18 +100,34 @@ public class FriendshipService {
         return mapToResponse(updated);
     }
 
+    // Weak: the gateway may re-encode (compress) the body
+    public String myFriendsEtag(Long userId) {
+        FriendshipStamp stamp = friendshipRepository.stampAcceptedFriendships(userId);
+        return "W/\"" + stamp.getCount() + "-" + stamp.getMaxId() + "-" + stamp.getLastUpdated()
+                + "-" + stamp.getUsersLastUpdated() + "-friends-" + userId + "\"";
+    }
+
+    // The list carries each friendship's id (used to remove it) and createdAt, so the rows are
+    // still read: one lookup per side, each served by its own index instead of the OR scan.
+    // FriendGraph answers the common "no friends" case with no query at all.
     public List<FriendshipResponse> getMyFriends(Long userId) {
-        return friendshipRepository.findAcceptedFriendships(userId)
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        if (friendGraph.friendsOf(userId).length == 0) {
+            return List.of();
+        }
+        List<Friendship> friendships = new ArrayList<>(
+                friendshipRepository.findByRequesterIdAndStatus(userId, FriendshipStatus.ACCEPTED));
+        friendships.addAll(friendshipRepository.findByAddresseeIdAndStatus(userId, FriendshipStatus.ACCEPTED));
+        friendships.sort(Comparator.comparing(Friendship::getId));
+        return mapToResponses(friendships);
+    }
+
+    // Served from FriendGraph, no query
+    public long[] getFriendIds(Long userId) {
+        return friendGraph.friendsOf(userId);
     }
 
     public List<FriendshipResponse> getPendingRequests(Long userId) {
-        return friendshipRepository.findByAddresseeIdAndStatus(userId, FriendshipStatus.PENDING)
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(friendshipRepository.findByAddresseeIdAndStatus(userId, FriendshipStatus.PENDING));
     }
 
     public void removeFriendship(Long friendshipId, Long userId) {
@@ -108,15 +140,43 @@ public class FriendshipService {
         }
 
         friendshipRepository.delete(friendship);
+        if (friendship.getStatus() == FriendshipStatus.ACCEPTED) {
+            eventPublisher.publishEvent(new FriendshipChangedEvent(
+                    friendship.getRequesterId(), friendship.getAddresseeId(), false));
+        }
     }
 
     private FriendshipResponse mapToResponse(Friendship friendship) {
-        FriendshipResponse response = new FriendshipResponse();
-        response.setId(friendship.getId());
-        response.setRequester(userService.getById(friendship.getRequesterId()));
-        response.setAddressee(userService.getById(friendship.getAddresseeId()));
-        response.setStatus(friendship.getStatus());
-        response.setCreatedAt(friendship.getCreatedAt());
-        return response;
+        return mapToResponses(List.of(friendship)).get(0);
+    }
+
+    // Both sides of every friendship are loaded with one users query instead of 2N
+    private List<FriendshipResponse> mapToResponses(List<Friendship> friendships) {
+        Set<Long> userIds = new HashSet<>();
+        for (Friendship friendship : friendships) {
+            userIds.add(friendship.getRequesterId());
+            userIds.add(friendship.getAddresseeId());
+        }
+        Map<Long, UserResponse> users = userService.getByIds(userIds);
+
+        return friendships.stream()
+                .map(friendship -> {
+                    FriendshipResponse response = new FriendshipResponse();
+                    response.setId(friendship.getId());
+                    response.setRequester(resolve(users, friendship.getRequesterId()));
+                    response.setAddressee(resolve(users, friendship.getAddresseeId()));
+                    response.setStatus(friendship.getStatus());
+                    response.setCreatedAt(friendship.getCreatedAt());
+                    return response;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private UserResponse resolve(Map<Long, UserResponse> users, Long id) {
+        UserResponse user = users.get(id);
+        if (user == null) {
+            throw new UserNotFoundException(id);
+        }
+        return user;
     }
 }
@@ -0,0 +1,32 @@
+package com.example.user_service.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Striped per-id invalidation counters for caches that load outside Caffeine's compute lock.
+// An invalidation bumps the counter before removing entries; a load stores its result only if
+// the counter it read before loading is still current, so a stale result cannot be written back.
+final class InvalidationGenerations {
+
+    private static final int STRIPES = 1024;
+
+    private final AtomicLongArray counters = new AtomicLongArray(STRIPES);
+
+    long current(long id) {
+        return counters.get(stripe(id));
+    }
+
+    void bump(long id) {
+        counters.incrementAndGet(stripe(id));
+    }
+
+    // The check runs inside the key's compute, so it cannot interleave with a bump + invalidate
+    <K, V> void putIfCurrent(Cache<K, V> cache, K key, V value, long id, long generation) {
+        cache.asMap().compute(key, (k, existing) -> current(id) == generation ? value : existing);
+    }
+
+    private static int stripe(long id) {
+        return (int) ((id ^ (id >>> 32)) & (STRIPES - 1));
+    }
+}
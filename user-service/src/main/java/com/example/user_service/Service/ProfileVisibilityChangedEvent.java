@@ -0,0 +1,15 @@
+package com.example.user_service.Service;
+
+// Published after a user flips their profile between public and private
+public class ProfileVisibilityChangedEvent {
+
+    private final Long userId;
+
+    public ProfileVisibilityChangedEvent(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+}
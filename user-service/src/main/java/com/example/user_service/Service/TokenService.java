@@ -0,0 +1,164 @@
+package com.example.user_service.Service;
+
+import com.example.user_service.Entity.RefreshToken;
+import com.example.user_service.Entity.RevokedToken;
+import com.example.user_service.Entity.User;
+import com.example.user_service.Exception.InvalidRefreshTokenException;
+import com.example.user_service.Repository.RefreshTokenRepo;
+import com.example.user_service.Repository.RevokedTokenRepo;
+import com.example.user_service.Security.JwtUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+// Short-lived JWTs plus rotating opaque refresh tokens. Revoked access token ids are kept
+// until their exp so the gateway's revocation filter can be rebuilt from them.
+@Service
+public class TokenService {
+
+    private static final int REFRESH_TOKEN_BYTES = 32;
+
+    // Two tabs refreshing at once is not theft: a token rotated this recently is just rejected
+    private static final Duration REUSE_GRACE = Duration.ofSeconds(10);
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final RefreshTokenRepo refreshTokenRepository;
+    private final RevokedTokenRepo revokedTokenRepository;
+    private final JwtUtil jwtUtil;
+    private final Duration refreshTtl;
+
+    public TokenService(
+            RefreshTokenRepo refreshTokenRepository,
+            RevokedTokenRepo revokedTokenRepository,
+            JwtUtil jwtUtil,
+            @Value("${jwt.refresh-expiration:30d}") Duration refreshTtl
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.jwtUtil = jwtUtil;
+        this.refreshTtl = refreshTtl;
+    }
+
+    @Transactional
+    public IssuedTokens issue(User user) {
+        String accessTokenId = UUID.randomUUID().toString();
+        String accessToken = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getName(), accessTokenId);
+
+        byte[] bytes = new byte[REFRESH_TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        // Taken after signing, so the stored expiry is never earlier than the token's exp
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken stored = new RefreshToken();
+        stored.setUserId(user.getId());
+        stored.setTokenHash(hash(refreshToken));
+        stored.setAccessTokenId(accessTokenId);
+        stored.setAccessExpiresAt(now.plus(jwtUtil.getAccessTokenTtl()));
+        stored.setExpiresAt(now.plus(refreshTtl));
+        refreshTokenRepository.save(stored);
+
+        return new IssuedTokens(accessToken, refreshToken);
+    }
+
+    // Rotation: the presented token is revoked and the caller issues a new pair. A token that was
+    // already rotated out means it leaked, so every session of that user is ended.
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public RefreshToken consume(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(InvalidRefreshTokenException::new);
+        LocalDateTime now = LocalDateTime.now();
+
+        if (current.isRevoked()) {
+            if (current.getRevokedAt().plus(REUSE_GRACE).isBefore(now)) {
+                revokeAll(current.getUserId(), now);
+            }
+            throw new InvalidRefreshTokenException();
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new InvalidRefreshTokenException();
+        }
+
+        current.setRevokedAt(now);
+        return current;
+    }
+
+    // Idempotent: unknown or already revoked tokens are ignored
+    @Transactional
+    public void logout(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .filter(token -> !token.isRevoked())
+                .ifPresent(token -> revoke(token, LocalDateTime.now()));
+    }
+
+    @Transactional
+    public void revokeAllSessions(Long userId) {
+        revokeAll(userId, LocalDateTime.now());
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> getActiveRevocations() {
+        return revokedTokenRepository.findActiveTokenIds(LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.cleanup-interval:1h}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.deleteExpired(now);
+        revokedTokenRepository.deleteExpired(now);
+    }
+
+    private void revokeAll(Long userId, LocalDateTime now) {
+        for (RefreshToken token : refreshTokenRepository.findByUserIdAndRevokedAtIsNull(userId)) {
+            revoke(token, now);
+        }
+    }
+
+    private void revoke(RefreshToken token, LocalDateTime now) {
+        token.setRevokedAt(now);
+        if (token.getAccessExpiresAt().isAfter(now)) {
+            revokedTokenRepository.save(new RevokedToken(token.getAccessTokenId(), token.getAccessExpiresAt()));
+        }
+    }
+
+    private static String hash(String refreshToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(refreshToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static final class IssuedTokens {
+        private final String accessToken;
+        private final String refreshToken;
+
+        private IssuedTokens(String accessToken, String refreshToken) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+        }
+
+        public String getAccessToken() {
+            return accessToken;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+}
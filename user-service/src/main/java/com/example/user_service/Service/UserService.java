@@ -4,22 +4,38 @@ import com.example.user_service.Dto.ProfileUpdateRequest;
 import com.example.user_service.Dto.UserResponse;
 import com.example.user_service.Entity.User;
 import com.example.user_service.Exception.UserNotFoundException;
-import com.example.user_service.Repository.FriendshipRepo;
 import com.example.user_service.Repository.UserRepo;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class UserService {
+    static final int DEFAULT_SEARCH_SIZE = 20;
+    static final int MAX_SEARCH_SIZE = 50;
+    static final int MIN_TRIGRAM_QUERY = 3;
+
     private final UserRepo userRepository;
-    private final FriendshipRepo friendshipRepository;
+    private final FriendGraph friendGraph;
+    private final VisibilityCache visibilityCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserService(UserRepo userRepository, FriendshipRepo friendshipRepository) {
+    public UserService(UserRepo userRepository, FriendGraph friendGraph,
+                       VisibilityCache visibilityCache, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
-        this.friendshipRepository = friendshipRepository;
+        this.friendGraph = friendGraph;
+        this.visibilityCache = visibilityCache;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<UserResponse> getAll() {
@@ -35,6 +51,15 @@ public class UserService {
         return mapToResponse(user);
     }
 
+    // Resolves many users with a single IN query; missing ids are simply absent from the map
+    public Map<Long, UserResponse> getByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) return Map.of();
+
+        return userRepository.findAllById(ids).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toMap(UserResponse::getId, Function.identity()));
+    }
+
     public UserResponse getByName(String name) {
         User user = userRepository.findByName(name);
         if (user == null) {
@@ -50,27 +75,109 @@ public class UserService {
         if (request.getName() != null) user.setName(request.getName());
         if (request.getBio() != null) user.setBio(request.getBio());
         if (request.getProfilePhotoUrl() != null) user.setProfilePhotoUrl(request.getProfilePhotoUrl());
+        boolean visibilityChanged = request.getIsPublic() != null && request.getIsPublic() != user.isPublic();
         if (request.getIsPublic() != null) user.setPublic(request.getIsPublic());
 
         User updated = userRepository.save(user);
+        if (visibilityChanged) {
+            eventPublisher.publishEvent(new ProfileVisibilityChangedEvent(userId));
+        }
         return mapToResponse(updated);
     }
 
-    public List<UserResponse> searchByName(String name) {
-        return userRepository.findByNameContainingIgnoreCase(name).stream()
+    public List<UserResponse> searchByName(String name, Integer page, Integer size) {
+        String query = name.trim().toLowerCase(Locale.ROOT);
+        if (query.isEmpty()) return List.of();
+
+        int limit = pageSize(size);
+        long offset = (long) Math.max(0, page == null ? 0 : page) * limit;
+
+        // Trigrams need three characters to narrow anything down; shorter input is a prefix lookup
+        List<User> users = query.length() < MIN_TRIGRAM_QUERY
+                ? findByPrefix(query, limit, offset)
+                : userRepository.searchByName(escapeLike(query), limit, offset);
+
+        return users.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    // Search-as-you-type: index-ordered prefix scan, no ranking work
+    public List<UserResponse> autocomplete(String prefix, Integer size) {
+        String query = prefix.trim().toLowerCase(Locale.ROOT);
+        if (query.isEmpty()) return List.of();
+
+        return findByPrefix(query, pageSize(size), 0).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    private List<User> findByPrefix(String prefix, int limit, long offset) {
+        // Smallest string above every name starting with prefix: bump its last code point
+        int last = prefix.codePointBefore(prefix.length());
+        String upper = prefix.substring(0, prefix.length() - Character.charCount(last))
+                + new String(Character.toChars(last + 1));
+        return userRepository.findByNamePrefix(prefix, upper, limit, offset);
+    }
+
+    private static int pageSize(Integer size) {
+        return size == null ? DEFAULT_SEARCH_SIZE : Math.max(1, Math.min(size, MAX_SEARCH_SIZE));
+    }
+
+    private static String escapeLike(String query) {
+        return query.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     public boolean canViewUser(Long userId, Long viewerId) {
         if (userId.equals(viewerId)) return true;
 
+        return visibilityCache.get(userId, viewerId, () -> loadCanView(userId, viewerId));
+    }
+
+    // Batch form of canViewUser: cache hits first, then one users query for the rest;
+    // the friendship side is answered by FriendGraph. Unknown owners come back false.
+    public Map<Long, Boolean> canViewUsers(Long viewerId, Collection<Long> ownerIds) {
+        Map<Long, Boolean> decisions = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+
+        for (Long ownerId : new LinkedHashSet<>(ownerIds)) {
+            if (ownerId.equals(viewerId)) {
+                decisions.put(ownerId, true);
+                continue;
+            }
+            Boolean cached = visibilityCache.getIfPresent(ownerId, viewerId);
+            if (cached != null) {
+                decisions.put(ownerId, cached);
+            } else {
+                misses.add(ownerId);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            // Read before the load so an invalidation racing with it is not overwritten
+            Map<Long, Long> generations = new HashMap<>();
+            for (Long ownerId : misses) {
+                generations.put(ownerId, visibilityCache.generation(ownerId));
+            }
+            for (User owner : userRepository.findAllById(misses)) {
+                boolean decision = owner.isPublic() || friendGraph.areFriends(owner.getId(), viewerId);
+                visibilityCache.put(owner.getId(), viewerId, decision, generations.get(owner.getId()));
+                decisions.put(owner.getId(), decision);
+            }
+            for (Long ownerId : misses) {
+                decisions.putIfAbsent(ownerId, false);
+            }
+        }
+        return decisions;
+    }
+
+    private boolean loadCanView(Long userId, Long viewerId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
         if (user.isPublic()) return true;
 
-        return friendshipRepository.areFriends(userId, viewerId);
+        return friendGraph.areFriends(userId, viewerId);
     }
 
     UserResponse mapToResponse(User user) {
@@ -0,0 +1,101 @@
+package com.example.user_service.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+// (owner, viewer) -> canView, invalidated by friendship and profile visibility events.
+// The TTL is only a safety net for changes made outside this service.
+@Component
+public class VisibilityCache {
+
+    private final Cache<Key, Boolean> decisions;
+    private final InvalidationGenerations generations = new InvalidationGenerations();
+
+    public VisibilityCache(
+            MeterRegistry meterRegistry,
+            @Value("${visibility-cache.max-size:100000}") long maxSize,
+            @Value("${visibility-cache.ttl:10m}") Duration ttl
+    ) {
+        this.decisions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, decisions, "user.can-view");
+    }
+
+    // Not Cache.get(key, loader): that runs the DB lookup inside the map's compute lock,
+    // which pins the carrier when running on virtual threads. The generation read before the
+    // load keeps an invalidation that lands mid-load from being overwritten.
+    public boolean get(Long ownerId, Long viewerId, Supplier<Boolean> loader) {
+        Boolean cached = getIfPresent(ownerId, viewerId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = generation(ownerId);
+        boolean decision = loader.get();
+        put(ownerId, viewerId, decision, generation);
+        return decision;
+    }
+
+    public Boolean getIfPresent(Long ownerId, Long viewerId) {
+        return decisions.getIfPresent(new Key(ownerId, viewerId));
+    }
+
+    // Read before loading a decision about ownerId, then hand it to put
+    public long generation(Long ownerId) {
+        return generations.current(ownerId);
+    }
+
+    public void put(Long ownerId, Long viewerId, boolean decision, long generation) {
+        generations.putIfCurrent(decisions, new Key(ownerId, viewerId), decision, ownerId, generation);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFriendshipChanged(FriendshipChangedEvent event) {
+        generations.bump(event.getUserId1());
+        generations.bump(event.getUserId2());
+        decisions.invalidate(new Key(event.getUserId1(), event.getUserId2()));
+        decisions.invalidate(new Key(event.getUserId2(), event.getUserId1()));
+    }
+
+    // Rare (a privacy toggle), so a scan over the cached keys is acceptable
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProfileVisibilityChanged(ProfileVisibilityChangedEvent event) {
+        generations.bump(event.getUserId());
+        decisions.asMap().keySet().removeIf(key -> key.ownerId.equals(event.getUserId()));
+    }
+
+    private static final class Key {
+        private final Long ownerId;
+        private final Long viewerId;
+
+        private Key(Long ownerId, Long viewerId) {
+            this.ownerId = ownerId;
+            this.viewerId = viewerId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return ownerId.equals(other.ownerId) && viewerId.equals(other.viewerId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ownerId, viewerId);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+-- Schema as previously generated by ddl-auto=update; no-ops on existing databases
+CREATE TABLE IF NOT EXISTS users (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name              VARCHAR(255) NOT NULL,
+    email             VARCHAR(255) NOT NULL UNIQUE,
+    password          VARCHAR(255) NOT NULL,
+    bio               TEXT,
+    profile_photo_url VARCHAR(255),
+    is_public         BOOLEAN NOT NULL,
+    created_at        TIMESTAMP(6),
+    updated_at        TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS friendships (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    requester_id BIGINT NOT NULL,
+    addressee_id BIGINT NOT NULL,
+    status       VARCHAR(255) NOT NULL,
+    created_at   TIMESTAMP(6),
+    updated_at   TIMESTAMP(6)
+);
+
+-- Databases created by ddl-auto before the updated_at columns existed
+ALTER TABLE users ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+ALTER TABLE friendships ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
@@ -0,0 +1,6 @@
+-- Substring / fuzzy search on names (UserRepo.searchByName): LIKE '%q%' and % both use this
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_users_name_trgm ON users USING gin (lower(name) gin_trgm_ops);
+
+-- Prefix autocomplete (UserRepo.findByNamePrefix): byte-wise range scan in index order
+CREATE INDEX IF NOT EXISTS idx_users_name_prefix ON users (lower(name) text_pattern_ops, id);
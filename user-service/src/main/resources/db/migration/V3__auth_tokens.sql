@@ -0,0 +1,23 @@
+-- Refresh tokens are stored as SHA-256 hashes; the paired access token id lets logout and
+-- reuse detection revoke the access token that was issued alongside it
+CREATE TABLE refresh_tokens (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id           BIGINT NOT NULL,
+    token_hash        VARCHAR(64) NOT NULL UNIQUE,
+    access_token_id   VARCHAR(36) NOT NULL,
+    access_expires_at TIMESTAMP(6) NOT NULL,
+    expires_at        TIMESTAMP(6) NOT NULL,
+    created_at        TIMESTAMP(6),
+    revoked_at        TIMESTAMP(6)
+);
+
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens (user_id) WHERE revoked_at IS NULL;
+CREATE INDEX idx_refresh_tokens_expires ON refresh_tokens (expires_at);
+
+-- Access token ids (jti) revoked before their exp; the gateway syncs the live ones
+CREATE TABLE revoked_tokens (
+    token_id   VARCHAR(36) PRIMARY KEY,
+    expires_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_expires ON revoked_tokens (expires_at);
@@ -0,0 +1,5 @@
+-- Deleted account ids; event- and appointment-service mirror this list (UserTombstones)
+CREATE TABLE user_tombstones (
+    user_id    BIGINT PRIMARY KEY,
+    deleted_at TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,9 @@
+-- findExistingRequest / areFriends probe both directions of a pair; findByRequesterIdAndStatus
+-- and the requester side of findAcceptedFriendships use the leading column
+CREATE INDEX IF NOT EXISTS idx_friendships_pair ON friendships (requester_id, addressee_id, status);
+
+-- Incoming requests (findByAddresseeIdAndStatus) and the addressee side of findAcceptedFriendships
+CREATE INDEX IF NOT EXISTS idx_friendships_addressee ON friendships (addressee_id, status, requester_id);
+
+-- Exact lookup (UserRepo.findByName); search and autocomplete use the lower(name) indexes of V2
+CREATE INDEX IF NOT EXISTS idx_users_name ON users (name);